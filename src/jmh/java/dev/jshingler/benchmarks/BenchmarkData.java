@@ -0,0 +1,85 @@
+package dev.jshingler.benchmarks;
+
+import org.apache.avro.Schema;
+
+import java.util.Random;
+
+/**
+ * Test data shared by the benchmarks: patterns of increasing complexity, values of a given length
+ * with a controlled share of invalid entries, and single-field record schemas around them.
+ */
+final class BenchmarkData {
+
+    private static final String DIGITS = "0123456789";
+    private static final String HEX = "0123456789abcdefABCDEF";
+    private static final String SLUG = "abcdefghijklmnopqrstuvwxyz0123456789";
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * @param complexity {@code digits} and {@code hex} are fixed-length character-class shapes,
+     *                   {@code regex} needs the backtracking engine
+     */
+    static String pattern(String complexity, int length) {
+        switch (complexity) {
+            case "digits":
+                return "^[0-9]{" + length + "}$";
+            case "hex":
+                return "^[0-9a-fA-F]{" + length + "}$";
+            case "regex":
+                return "^[a-z0-9]+(-[a-z0-9]+)*$";
+            default:
+                throw new IllegalArgumentException("Unknown pattern complexity: " + complexity);
+        }
+    }
+
+    /**
+     * A {@link #pattern(String, int)} that only matches values ending in the literal {@code tag}, so
+     * patterns with different tags are distinct schemas to the intern cache at the same complexity.
+     */
+    static String pattern(String complexity, int length, String tag) {
+        String pattern = pattern(complexity, length);
+        return pattern.substring(0, pattern.length() - 1) + tag + "$";
+    }
+
+    static String[] values(String complexity, int length, double validRatio, int count) {
+        Random random = new Random(42);
+        String[] values = new String[count];
+        for (int i = 0; i < count; i++) {
+            char[] chars = new char[length];
+            for (int j = 0; j < length; j++) {
+                chars[j] = validChar(complexity, j, length, random);
+            }
+            if (random.nextDouble() >= validRatio) {
+                chars[random.nextInt(length)] = '!';
+            }
+            values[i] = new String(chars);
+        }
+        return values;
+    }
+
+    private static char validChar(String complexity, int position, int length, Random random) {
+        switch (complexity) {
+            case "digits":
+                return DIGITS.charAt(random.nextInt(DIGITS.length()));
+            case "hex":
+                return HEX.charAt(random.nextInt(HEX.length()));
+            default:
+                if (position % 8 == 7 && position != length - 1) {
+                    return '-';
+                }
+                return SLUG.charAt(random.nextInt(SLUG.length()));
+        }
+    }
+
+    static String validatedStringType(String pattern) {
+        return "{\"type\": \"string\", \"logicalType\": \"validated-string\", \"pattern\": \"" + pattern + "\"}";
+    }
+
+    static Schema singleFieldSchema(String pattern, boolean validated) {
+        String type = validated ? validatedStringType(pattern) : "\"string\"";
+        return new Schema.Parser().parse(
+                "{\"type\": \"record\", \"name\": \"Bench\", \"fields\": [{\"name\": \"value\", \"type\": " + type + "}]}");
+    }
+}
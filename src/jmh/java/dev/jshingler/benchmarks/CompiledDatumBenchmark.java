@@ -0,0 +1,119 @@
+package dev.jshingler.benchmarks;
+
+import dev.jshingler.CompiledDatumReader;
+import dev.jshingler.CompiledDatumWriter;
+import dev.jshingler.ValidatedString;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DatumReader;
+import org.apache.avro.io.DatumWriter;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CompiledDatumWriter} and {@link CompiledDatumReader} against the generic datum writer and
+ * reader with the validated-string conversion, on a record shaped like {@code user.avsc}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CompiledDatumBenchmark {
+
+    private static final int VALUES = 1024;
+
+    private static final String USER_SCHEMA = "{\"type\":\"record\",\"name\":\"User\",\"fields\":["
+            + "{\"name\":\"name\",\"type\":\"string\"},"
+            + "{\"name\":\"age\",\"type\":\"int\"},"
+            + "{\"name\":\"email\",\"type\":[\"null\",\"string\"],\"default\":null},"
+            + "{\"name\":\"sessionId\",\"type\":{\"type\":\"string\",\"logicalType\":\"validated-string\","
+            + "\"pattern\":\"^[0-9]{4}-[0-9]{2}$\"}}]}";
+
+    @Param({"generic", "compiled"})
+    public String implementation;
+
+    private DatumWriter<GenericRecord> writer;
+    private DatumReader<GenericRecord> reader;
+    private GenericRecord[] records;
+    private byte[][] encoded;
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private BinaryEncoder encoder;
+    private BinaryDecoder decoder;
+    private GenericRecord reuse;
+    private int next;
+
+    @Setup
+    public void setup() throws IOException {
+        ValidatedString.registerLogicalType();
+        Schema schema = new Schema.Parser().parse(USER_SCHEMA);
+        GenericData data = new GenericData();
+        data.addLogicalTypeConversion(new ValidatedString.ValidatedStringConversion(new ValidatedString()));
+        if ("compiled".equals(implementation)) {
+            writer = CompiledDatumWriter.forSchema(schema);
+            reader = CompiledDatumReader.forSchema(schema);
+        } else {
+            writer = new GenericDatumWriter<>(schema, data);
+            reader = new GenericDatumReader<>(schema, schema, data);
+        }
+
+        records = new GenericRecord[VALUES];
+        encoded = new byte[VALUES][];
+        for (int i = 0; i < VALUES; i++) {
+            records[i] = new GenericData.Record(schema);
+            records[i].put("name", "User " + i);
+            records[i].put("age", i % 90);
+            records[i].put("email", i % 2 == 0 ? "user" + i + "@example.com" : null);
+            records[i].put("sessionId", String.format("%04d-%02d", i, i % 100));
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            BinaryEncoder recordEncoder = EncoderFactory.get().binaryEncoder(bytes, null);
+            new GenericDatumWriter<GenericRecord>(schema, data).write(records[i], recordEncoder);
+            recordEncoder.flush();
+            encoded[i] = bytes.toByteArray();
+        }
+    }
+
+    private int nextIndex() {
+        int index = next;
+        next = (index + 1) & (VALUES - 1);
+        return index;
+    }
+
+    @Benchmark
+    public int encode() throws IOException {
+        out.reset();
+        encoder = EncoderFactory.get().binaryEncoder(out, encoder);
+        writer.write(records[nextIndex()], encoder);
+        encoder.flush();
+        return out.size();
+    }
+
+    @Benchmark
+    public GenericRecord decode() throws IOException {
+        decoder = DecoderFactory.get().binaryDecoder(encoded[nextIndex()], decoder);
+        reuse = reader.read(reuse, decoder);
+        return reuse;
+    }
+}
@@ -0,0 +1,156 @@
+package dev.jshingler.benchmarks;
+
+import dev.jshingler.ValidatedString;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the validated-string logical type on the generic write and read paths, compared with a
+ * plain Avro {@code string}. Run with {@code -prof gc} to see allocation rates alongside throughput.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GenericRoundTripBenchmark {
+
+    private static final int VALUES = 1024;
+
+    @Param({"digits", "hex", "regex"})
+    public String complexity;
+
+    @Param({"8", "32", "128"})
+    public int length;
+
+    @Param({"1.0", "0.9", "0.7"})
+    public double validRatio;
+
+    @Param({"true", "false"})
+    public boolean conversion;
+
+    private GenericDatumWriter<GenericRecord> writer;
+    private GenericDatumReader<GenericRecord> reader;
+    private GenericRecord[] records;
+    private byte[][] encoded;
+
+    private final ReusableOutputStream out = new ReusableOutputStream();
+    private BinaryEncoder encoder;
+    private BinaryDecoder decoder;
+    private GenericRecord reuse;
+    private int next;
+
+    @Setup
+    public void setup() throws IOException {
+        ValidatedString.register();
+        String pattern = BenchmarkData.pattern(complexity, length);
+        Schema schema = BenchmarkData.singleFieldSchema(pattern, conversion);
+
+        GenericData data = new GenericData();
+        if (conversion) {
+            data.addLogicalTypeConversion(new ValidatedString.ValidatedStringConversion(new ValidatedString()));
+        }
+        writer = new GenericDatumWriter<>(schema, data);
+        reader = new GenericDatumReader<>(schema, schema, data);
+
+        // Encode without validation so invalid values can be fed to the read path as well
+        Schema plain = BenchmarkData.singleFieldSchema(pattern, false);
+        GenericDatumWriter<GenericRecord> plainWriter = new GenericDatumWriter<>(plain, new GenericData());
+        String[] values = BenchmarkData.values(complexity, length, validRatio, VALUES);
+        records = new GenericRecord[VALUES];
+        encoded = new byte[VALUES][];
+        for (int i = 0; i < VALUES; i++) {
+            records[i] = new GenericData.Record(schema);
+            records[i].put(0, values[i]);
+            GenericRecord plainRecord = new GenericData.Record(plain);
+            plainRecord.put(0, values[i]);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            BinaryEncoder plainEncoder = EncoderFactory.get().binaryEncoder(bytes, null);
+            plainWriter.write(plainRecord, plainEncoder);
+            plainEncoder.flush();
+            encoded[i] = bytes.toByteArray();
+        }
+    }
+
+    private int nextIndex() {
+        int index = next;
+        next = (index + 1) & (VALUES - 1);
+        return index;
+    }
+
+    @Benchmark
+    public void encode(Blackhole blackhole) throws IOException {
+        blackhole.consume(write(records[nextIndex()]));
+    }
+
+    @Benchmark
+    public void decode(Blackhole blackhole) throws IOException {
+        blackhole.consume(read(encoded[nextIndex()]));
+    }
+
+    @Benchmark
+    public void roundTrip(Blackhole blackhole) throws IOException {
+        int index = nextIndex();
+        if (write(records[index]) != null) {
+            decoder = DecoderFactory.get().binaryDecoder(out.buffer(), 0, out.size(), decoder);
+            blackhole.consume(read(decoder));
+        }
+    }
+
+    private Object write(GenericRecord record) throws IOException {
+        // Reconfigure first: it flushes whatever a failed write left buffered into the old contents
+        encoder = EncoderFactory.get().binaryEncoder(out, encoder);
+        out.reset();
+        try {
+            writer.write(record, encoder);
+            encoder.flush();
+            return out;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private Object read(byte[] bytes) throws IOException {
+        decoder = DecoderFactory.get().binaryDecoder(bytes, decoder);
+        return read(decoder);
+    }
+
+    private Object read(BinaryDecoder decoder) throws IOException {
+        try {
+            reuse = reader.read(reuse, decoder);
+            return reuse;
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    private static final class ReusableOutputStream extends ByteArrayOutputStream {
+        byte[] buffer() {
+            return buf;
+        }
+    }
+}
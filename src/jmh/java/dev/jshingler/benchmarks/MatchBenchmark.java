@@ -0,0 +1,85 @@
+package dev.jshingler.benchmarks;
+
+import dev.jshingler.ValidatedString;
+import org.apache.avro.util.Utf8;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * A single value check in isolation: {@link ValidatedString} on {@code String} and {@code Utf8}
+ * input against a freshly allocated {@code java.util.regex.Matcher}. With {@code cacheSize} set,
+ * every value repeats and is answered from the matched-value cache after its first check.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MatchBenchmark {
+
+    private static final int VALUES = 1024;
+
+    @Param({"digits", "hex", "regex"})
+    public String complexity;
+
+    @Param({"8", "32", "128"})
+    public int length;
+
+    @Param({"1.0", "0.7"})
+    public double validRatio;
+
+    @Param({"0", "4096"})
+    public int cacheSize;
+
+    private ValidatedString validatedString;
+    private Pattern pattern;
+    private String[] strings;
+    private Utf8[] utf8s;
+    private int next;
+
+    @Setup
+    public void setup() {
+        String regex = BenchmarkData.pattern(complexity, length);
+        validatedString = ValidatedString.forPattern(regex, cacheSize);
+        pattern = Pattern.compile(regex);
+        strings = BenchmarkData.values(complexity, length, validRatio, VALUES);
+        utf8s = new Utf8[VALUES];
+        for (int i = 0; i < VALUES; i++) {
+            utf8s[i] = new Utf8(strings[i]);
+        }
+    }
+
+    private int nextIndex() {
+        int index = next;
+        next = (index + 1) & (VALUES - 1);
+        return index;
+    }
+
+    @Benchmark
+    public boolean regex() {
+        return pattern.matcher(strings[nextIndex()]).matches();
+    }
+
+    @Benchmark
+    public boolean validatedString() {
+        return validatedString.matches(strings[nextIndex()]);
+    }
+
+    @Benchmark
+    public boolean validatedUtf8() {
+        return validatedString.matches(utf8s[nextIndex()]);
+    }
+}
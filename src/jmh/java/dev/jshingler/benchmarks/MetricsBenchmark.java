@@ -0,0 +1,125 @@
+package dev.jshingler.benchmarks;
+
+import dev.jshingler.ValidatedString;
+import dev.jshingler.ValidatedStringMetrics;
+import dev.jshingler.ValidatedStringModels;
+import dev.jshingler.ValidationFailurePolicy;
+import dev.jshingler.ValidationMetrics;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DatumReader;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of {@link ValidationMetrics} on the generic read path: no metrics, a disabled sink,
+ * counters only, and counters with every 64th validation timed.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MetricsBenchmark {
+
+    private static final int VALUES = 1024;
+
+    @Param({"digits", "regex"})
+    public String complexity;
+
+    @Param({"32"})
+    public int length;
+
+    @Param({"none", "disabled", "counters", "sampled"})
+    public String metrics;
+
+    private DatumReader<GenericRecord> reader;
+    private byte[][] encoded;
+    private BinaryDecoder decoder;
+    private GenericRecord reuse;
+    private int next;
+
+    @Setup
+    public void setup() throws IOException {
+        String pattern = BenchmarkData.pattern(complexity, length);
+        Schema schema = BenchmarkData.singleFieldSchema(pattern, true);
+        ValidatedStringModels models = ValidatedStringModels.builder()
+                .failurePolicy(ValidationFailurePolicy.IGNORE)
+                .metrics(metrics(schema))
+                .build();
+        reader = models.genericReader(schema);
+
+        Schema plain = BenchmarkData.singleFieldSchema(pattern, false);
+        GenericDatumWriter<GenericRecord> plainWriter = new GenericDatumWriter<>(plain, new GenericData());
+        String[] values = BenchmarkData.values(complexity, length, 0.9, VALUES);
+        encoded = new byte[VALUES][];
+        for (int i = 0; i < VALUES; i++) {
+            GenericRecord record = new GenericData.Record(plain);
+            record.put(0, values[i]);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(bytes, null);
+            plainWriter.write(record, encoder);
+            encoder.flush();
+            encoded[i] = bytes.toByteArray();
+        }
+    }
+
+    private ValidationMetrics metrics(Schema schema) {
+        switch (metrics) {
+            case "none":
+                return ValidationMetrics.NOOP;
+            case "disabled":
+                return new ValidationMetrics() {
+                    @Override
+                    public boolean isEnabled() {
+                        return false;
+                    }
+
+                    @Override
+                    public boolean sampleLatency() {
+                        return true;
+                    }
+
+                    @Override
+                    public void recordValidation(Schema schema, ValidatedString type, int bytes, boolean valid, long latencyNanos) {
+                        throw new AssertionError("Disabled metrics were called");
+                    }
+                };
+            case "counters":
+                return new ValidatedStringMetrics().bind(schema);
+            case "sampled":
+                return new ValidatedStringMetrics(64).bind(schema);
+            default:
+                throw new IllegalArgumentException("Unknown metrics: " + metrics);
+        }
+    }
+
+    @Benchmark
+    public GenericRecord decode() throws IOException {
+        int index = next;
+        next = (index + 1) & (VALUES - 1);
+        decoder = DecoderFactory.get().binaryDecoder(encoded[index], decoder);
+        reuse = reader.read(reuse, decoder);
+        return reuse;
+    }
+}
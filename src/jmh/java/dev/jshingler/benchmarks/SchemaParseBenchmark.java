@@ -0,0 +1,83 @@
+package dev.jshingler.benchmarks;
+
+import dev.jshingler.ValidatedString;
+import org.apache.avro.Schema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of parsing a schema whose fields carry the validated-string logical type, after
+ * {@link ValidatedString#register()}, compared with the same schema using plain strings, both with
+ * the validated-string types already interned and with every pattern new.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SchemaParseBenchmark {
+
+    @Param({"digits", "hex", "regex"})
+    public String complexity;
+
+    @Param({"1", "16", "64"})
+    public int fields;
+
+    @Param({"true", "false"})
+    public boolean logicalType;
+
+    private String json;
+    private long generation;
+
+    @Setup
+    public void setup() {
+        ValidatedString.register();
+        json = json("");
+    }
+
+    /**
+     * Parses the same schema every time, so after the first call each field's type comes from the
+     * intern cache and no pattern is compiled.
+     */
+    @Benchmark
+    public Schema parse() {
+        return new Schema.Parser().parse(json);
+    }
+
+    /**
+     * Parses a schema whose patterns have never been seen before, so every validated-string field
+     * compiles its pattern. Building the schema text is part of both the validated and the plain
+     * measurement.
+     */
+    @Benchmark
+    public Schema parseCold() {
+        return new Schema.Parser().parse(json("g" + generation++));
+    }
+
+    private String json(String generationTag) {
+        StringBuilder builder = new StringBuilder("{\"type\": \"record\", \"name\": \"Parse\", \"fields\": [");
+        for (int i = 0; i < fields; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            // The field's tag keeps every field's pattern distinct, including for regex complexity
+            String type = logicalType
+                    ? BenchmarkData.validatedStringType(BenchmarkData.pattern(complexity, 16, generationTag + "f" + i))
+                    : "\"string\"";
+            builder.append("{\"name\": \"f").append(i).append("\", \"type\": ").append(type).append('}');
+        }
+        return builder.append("]}").toString();
+    }
+}
@@ -0,0 +1,131 @@
+package dev.jshingler.benchmarks;
+
+import dev.jshingler.ValidatedString;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.DatumReader;
+import org.apache.avro.io.DatumWriter;
+import org.apache.avro.io.Decoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.Encoder;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.avro.specific.SpecificData;
+import org.apache.avro.specific.SpecificDatumReader;
+import org.apache.avro.specific.SpecificDatumWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code SpecificDatumWriter} plus {@code validatingEncoder} path used by
+ * {@code SerializeAvroRecordInMemory}, built up per call exactly as that example does.
+ * Run with {@code -prof gc} to see allocation rates alongside throughput.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ValidatingEncoderBenchmark {
+
+    private static final int VALUES = 1024;
+
+    @Param({"digits", "hex", "regex"})
+    public String complexity;
+
+    @Param({"8", "32", "128"})
+    public int length;
+
+    @Param({"1.0", "0.9", "0.7"})
+    public double validRatio;
+
+    @Param({"true", "false"})
+    public boolean conversion;
+
+    private Schema schema;
+    private SpecificData data;
+    private GenericRecord[] records;
+    private byte[][] encoded;
+    private int next;
+
+    @Setup
+    public void setup() throws IOException {
+        ValidatedString.register();
+        String pattern = BenchmarkData.pattern(complexity, length);
+        schema = new Schema.Parser().parse("""
+                {
+                  "type": "record",
+                  "name": "User",
+                  "fields": [
+                    {"name": "name", "type": "string"},
+                    {"name": "age", "type": "int"},
+                    {"name": "email", "type": ["null", "string"], "default": null},
+                    {"name": "sessionId", "type": %s}
+                  ]
+                }""".formatted(BenchmarkData.validatedStringType(pattern)));
+
+        // SpecificData.get() carries the conversion once register() has run
+        data = conversion ? SpecificData.get() : new SpecificData();
+        SpecificData unvalidated = new SpecificData();
+
+        String[] values = BenchmarkData.values(complexity, length, validRatio, VALUES);
+        records = new GenericRecord[VALUES];
+        encoded = new byte[VALUES][];
+        for (int i = 0; i < VALUES; i++) {
+            records[i] = new GenericData.Record(schema);
+            records[i].put("name", "Alice");
+            records[i].put("age", 30);
+            records[i].put("email", "alice@example.com");
+            records[i].put("sessionId", values[i]);
+            encoded[i] = serialize(new SpecificDatumWriter<>(schema, unvalidated), records[i]);
+        }
+    }
+
+    private int nextIndex() {
+        int index = next;
+        next = (index + 1) & (VALUES - 1);
+        return index;
+    }
+
+    @Benchmark
+    public Object serialize() throws IOException {
+        try {
+            return serialize(new SpecificDatumWriter<>(schema, data), records[nextIndex()]);
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object deserialize() throws IOException {
+        DatumReader<GenericRecord> datumReader = new SpecificDatumReader<>(schema, schema, data);
+        Decoder decoder = DecoderFactory.get().validatingDecoder(schema, DecoderFactory.get().binaryDecoder(encoded[nextIndex()], null));
+        try {
+            return datumReader.read(null, decoder);
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    private byte[] serialize(DatumWriter<GenericRecord> datumWriter, GenericRecord record) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Encoder encoder = EncoderFactory.get().validatingEncoder(schema, EncoderFactory.get().binaryEncoder(outputStream, null));
+        datumWriter.write(record, encoder);
+        encoder.flush();
+        return outputStream.toByteArray();
+    }
+}
@@ -0,0 +1,75 @@
+package dev.jshingler.benchmarks;
+
+import dev.jshingler.ValidatedString;
+import org.apache.avro.util.Utf8;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixed-shape matching on {@code Utf8} bytes with the scalar table against the Vector API backend.
+ * Each fork runs with {@code jdk.incubator.vector}; the backend is picked through the
+ * {@code dev.jshingler.vectorMatch} property before the first pattern is compiled. The vector
+ * backend needs the benchmarks built with the {@code vector} profile as well.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class VectorMatchBenchmark {
+
+    private static final int VALUES = 1024;
+
+    @Param({"digits", "hex"})
+    public String complexity;
+
+    @Param({"16", "32", "128"})
+    public int length;
+
+    @Param({"1.0", "0.7"})
+    public double validRatio;
+
+    @Param({"scalar", "vector"})
+    public String backend;
+
+    private ValidatedString validatedString;
+    private Utf8[] utf8s;
+    private int next;
+
+    @Setup
+    public void setup() {
+        if ("vector".equals(backend)) {
+            try {
+                Class.forName("dev.jshingler.VectorShapeMatcher", false, ValidatedString.class.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("Build the benchmarks with -Pjmh,vector to measure the vector backend", e);
+            }
+        }
+        System.setProperty("dev.jshingler.vectorMatch", String.valueOf("vector".equals(backend)));
+        validatedString = ValidatedString.forPattern(BenchmarkData.pattern(complexity, length));
+        String[] strings = BenchmarkData.values(complexity, length, validRatio, VALUES);
+        utf8s = new Utf8[VALUES];
+        for (int i = 0; i < VALUES; i++) {
+            utf8s[i] = new Utf8(strings[i]);
+        }
+    }
+
+    @Benchmark
+    public boolean matchUtf8() {
+        int index = next;
+        next = (index + 1) & (VALUES - 1);
+        return validatedString.matches(utf8s[index]);
+    }
+}
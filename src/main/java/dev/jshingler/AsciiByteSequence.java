@@ -0,0 +1,65 @@
+package dev.jshingler;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A reusable {@link CharSequence} view over a range of ASCII bytes.
+ * <p>
+ * Lets a {@link java.util.regex.Matcher} run directly over a {@code Utf8} buffer without first
+ * decoding it to a {@code String}. Only valid for pure ASCII input, where every byte is one char;
+ * callers check with {@link #isAscii(byte[], int, int)} before wrapping.
+ */
+final class AsciiByteSequence implements CharSequence {
+
+    private byte[] bytes;
+    private int offset;
+    private int length;
+
+    AsciiByteSequence wrap(byte[] bytes, int offset, int length) {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+        return this;
+    }
+
+    void clear() {
+        this.bytes = null;
+        this.offset = 0;
+        this.length = 0;
+    }
+
+    static boolean isAscii(byte[] bytes, int offset, int length) {
+        for (int i = offset, end = offset + length; i < end; i++) {
+            if (bytes[i] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("index " + index + " out of range [0, " + length + ")");
+        }
+        return (char) bytes[offset + index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("range [" + start + ", " + end + ") out of range [0, " + length + ")");
+        }
+        return new String(bytes, offset + start, end - start, StandardCharsets.US_ASCII);
+    }
+
+    @Override
+    public String toString() {
+        return new String(bytes, offset, length, StandardCharsets.US_ASCII);
+    }
+}
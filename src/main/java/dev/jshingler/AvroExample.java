@@ -28,11 +28,10 @@ public class AvroExample {
                 }""";
 
         // **IMPORTANT:** ValidatedString must be registered before parsing the schema
-        // Could be done in application startup to minimize impact
-        ValidatedString.register();
+        // Building the models registers it without touching the global GenericData
+        ValidatedStringModels models = ValidatedStringModels.defaults();
 
         Schema schema = new Schema.Parser().parse(schemaJson);
-        GenericData.get().addLogicalTypeConversion(new ValidatedString.ValidatedStringConversion(new ValidatedString()));
 
         GenericRecordBuilder builder = new GenericRecordBuilder(schema);
         builder.set("custId", "abc");
@@ -40,7 +39,7 @@ public class AvroExample {
 
 
         GenericRecord record = builder.build();
-        GenericData gd = GenericData.get();
+        GenericData gd = models.genericData();
         boolean b = gd.validate(schema, record);
         System.out.println("Record is valid: " + record);
 
@@ -0,0 +1,634 @@
+package dev.jshingler;
+
+import org.apache.avro.Schema;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.DecoderFactory;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Audits existing Avro container files against validated-string patterns.
+ * <p>
+ * The calling thread walks the file from sync marker to sync marker reading only block headers,
+ * and each block is read, inflated and checked as a separate task on a {@link ForkJoinPool}, so
+ * throughput grows with the pool. Records are never materialized: a decoding plan built from the
+ * file's schema skips over everything except validated-string fields, which are matched in place
+ * on the block's bytes.
+ * <p>
+ * Supports the {@code null} and {@code deflate} codecs.
+ */
+public class AvroFileValidator {
+
+    private static final byte[] MAGIC = {'O', 'b', 'j', 1};
+    private static final int SYNC_SIZE = 16;
+    // Blocks read but not yet merged, per pool thread; bounds memory for very large files
+    private static final int IN_FLIGHT_PER_THREAD = 4;
+    // Failing records kept per field for the report
+    private static final int SAMPLE_FAILURES = 10;
+
+    private static final ThreadLocal<byte[]> READ_BUFFERS = ThreadLocal.withInitial(() -> new byte[64 * 1024]);
+    private static final ThreadLocal<byte[]> INFLATE_BUFFERS = ThreadLocal.withInitial(() -> new byte[256 * 1024]);
+    private static final ThreadLocal<Inflater> INFLATERS = ThreadLocal.withInitial(() -> new Inflater(true));
+
+    public static void main(String[] args) throws IOException {
+        Schema current = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        List<Path> inputs = new ArrayList<>();
+        ValidatedString.registerLogicalType();
+        for (int i = 0; i < args.length; i++) {
+            if ("--schema".equals(args[i]) && i + 1 < args.length) {
+                current = new Schema.Parser().parse(new File(args[++i]));
+            } else if ("--threads".equals(args[i]) && i + 1 < args.length) {
+                threads = Integer.parseInt(args[++i]);
+            } else {
+                inputs.add(Path.of(args[i]));
+            }
+        }
+        if (inputs.isEmpty()) {
+            System.err.println("Usage: AvroFileValidator [--schema current.avsc] [--threads n] file-or-directory...");
+            System.exit(2);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long failures = 0;
+        try {
+            for (Path input : inputs) {
+                for (Path file : containerFiles(input)) {
+                    FileValidationReport report = validate(file.toFile(), current, pool);
+                    failures += report.getTotalFailures();
+                    double seconds = report.getElapsedNanos() / 1e9;
+                    System.out.printf("%s (%.1f MB/s)%n", report, report.getBytes() / 1e6 / Math.max(seconds, 1e-9));
+                    for (FileValidationReport.FieldFailures field : report.getFields()) {
+                        System.out.println("  " + field);
+                        long[] records = field.getSampleRecords();
+                        long[] offsets = field.getSampleBlockOffsets();
+                        for (int i = 0; i < records.length; i++) {
+                            System.out.println("    record " + records[i] + " in block at offset " + offsets[i]);
+                        }
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    private static List<Path> containerFiles(Path input) throws IOException {
+        if (!Files.isDirectory(input)) {
+            return List.of(input);
+        }
+        try (Stream<Path> files = Files.walk(input)) {
+            return files.filter(file -> Files.isRegularFile(file) && file.toString().endsWith(".avro"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Checks every validated-string value in {@code file}.
+     *
+     * @param current schema whose patterns to check against, matched to the file's fields by path;
+     *                null to use the patterns the file was written with
+     * @throws IOException if the file cannot be read or is not a valid container file
+     */
+    public static FileValidationReport validate(File file, Schema current, ForkJoinPool pool) throws IOException {
+        long started = System.nanoTime();
+        ValidatedString.registerLogicalType();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            Header header = readHeader(channel);
+            Plan plan = new Plan(header.schema, current);
+            long size = channel.size();
+            long position = header.length;
+            long blocks = 0;
+            long records = 0;
+            BlockResult total = new BlockResult(plan.fields.size());
+            Deque<Future<BlockResult>> inFlight = new ArrayDeque<>();
+            ByteBuffer blockHeader = ByteBuffer.allocate(20);
+            byte[] sync = new byte[SYNC_SIZE];
+            try {
+                while (position < size) {
+                    blockHeader.clear();
+                    readFully(channel, blockHeader, position, false);
+                    BlockCursor cursor = new BlockCursor(blockHeader.array(), 0, blockHeader.position());
+                    long count = cursor.readLong();
+                    long length = cursor.readLong();
+                    long data = position + cursor.position();
+                    if (count < 0 || length < 0 || length > Integer.MAX_VALUE || data + length + SYNC_SIZE > size) {
+                        throw new IOException("Corrupt block at offset " + position + " in " + file);
+                    }
+                    readFully(channel, ByteBuffer.wrap(sync), data + length, true);
+                    if (!Arrays.equals(sync, header.sync)) {
+                        throw new IOException("Invalid sync marker after block at offset " + position + " in " + file);
+                    }
+                    long blockOffset = position;
+                    long firstRecord = records;
+                    inFlight.add(pool.submit(() -> checkBlock(channel, header.codec, plan, blockOffset, data, (int) length, count, firstRecord)));
+                    if (inFlight.size() >= pool.getParallelism() * IN_FLIGHT_PER_THREAD) {
+                        total.merge(get(inFlight.removeFirst()));
+                    }
+                    blocks++;
+                    records += count;
+                    position = data + length + SYNC_SIZE;
+                }
+                while (!inFlight.isEmpty()) {
+                    total.merge(get(inFlight.removeFirst()));
+                }
+            } finally {
+                // Only non-empty if a block failed; the rest would read from a closed channel
+                for (Future<BlockResult> pending : inFlight) {
+                    pending.cancel(true);
+                }
+            }
+
+            List<FileValidationReport.FieldFailures> fields = new ArrayList<>();
+            for (int i = 0; i < plan.fields.size(); i++) {
+                fields.add(new FileValidationReport.FieldFailures(plan.fields.get(i), plan.types.get(i).getConstraint(),
+                        total.failures[i], total.sampleRecords(i), total.sampleBlocks(i)));
+            }
+            return new FileValidationReport(file, blocks, records, size, System.nanoTime() - started, fields);
+        }
+    }
+
+    private static BlockResult checkBlock(FileChannel channel, String codec, Plan plan, long blockOffset,
+                                          long data, int length, long count, long firstRecord) throws IOException {
+        byte[] bytes = buffer(READ_BUFFERS, length);
+        readFully(channel, ByteBuffer.wrap(bytes, 0, length), data, true);
+        BlockCursor cursor = "deflate".equals(codec) ? inflate(bytes, length, blockOffset) : new BlockCursor(bytes, 0, length);
+        BlockResult result = new BlockResult(plan.fields.size());
+        result.blockOffset = blockOffset;
+        for (long i = 0; i < count; i++) {
+            result.record = firstRecord + i;
+            plan.root.check(cursor, result);
+        }
+        if (cursor.remaining() != 0) {
+            throw new IOException("Block at offset " + blockOffset + " has " + cursor.remaining() + " bytes after its last record");
+        }
+        return result;
+    }
+
+    private static BlockCursor inflate(byte[] bytes, int length, long blockOffset) throws IOException {
+        Inflater inflater = INFLATERS.get();
+        inflater.reset();
+        inflater.setInput(bytes, 0, length);
+        byte[] out = INFLATE_BUFFERS.get();
+        int inflated = 0;
+        try {
+            while (!inflater.finished()) {
+                if (inflated == out.length) {
+                    out = Arrays.copyOf(out, out.length * 2);
+                    INFLATE_BUFFERS.set(out);
+                }
+                int n = inflater.inflate(out, inflated, out.length - inflated);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Truncated deflate data in block at offset " + blockOffset);
+                }
+                inflated += n;
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Invalid deflate data in block at offset " + blockOffset, e);
+        }
+        return new BlockCursor(out, 0, inflated);
+    }
+
+    private static byte[] buffer(ThreadLocal<byte[]> buffers, int length) {
+        byte[] bytes = buffers.get();
+        if (bytes.length < length) {
+            bytes = new byte[Math.max(length, bytes.length * 2)];
+            buffers.set(bytes);
+        }
+        return bytes;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position, boolean required) throws IOException {
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, position);
+            if (n < 0) {
+                if (required) {
+                    throw new EOFException("Unexpected end of file at offset " + position);
+                }
+                return;
+            }
+            position += n;
+        }
+    }
+
+    private static BlockResult get(Future<BlockResult> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted validating blocks");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Failed to validate block", e.getCause());
+        }
+    }
+
+    /**
+     * Reads the container header: magic, metadata and sync marker.
+     */
+    private static Header readHeader(FileChannel channel) throws IOException {
+        CountingInputStream in = new CountingInputStream(Channels.newInputStream(channel.position(0)));
+        BinaryDecoder decoder = DecoderFactory.get().directBinaryDecoder(in, null);
+        byte[] magic = new byte[MAGIC.length];
+        decoder.readFixed(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Not an Avro container file");
+        }
+        Map<String, byte[]> metadata = new HashMap<>();
+        for (long n = decoder.readMapStart(); n != 0; n = decoder.mapNext()) {
+            for (long i = 0; i < n; i++) {
+                String key = decoder.readString();
+                ByteBuffer value = decoder.readBytes(null);
+                byte[] bytes = new byte[value.remaining()];
+                value.get(bytes);
+                metadata.put(key, bytes);
+            }
+        }
+        byte[] sync = new byte[SYNC_SIZE];
+        decoder.readFixed(sync);
+        byte[] schema = metadata.get("avro.schema");
+        if (schema == null) {
+            throw new IOException("Container file has no schema");
+        }
+        byte[] codec = metadata.get("avro.codec");
+        String codecName = codec == null ? "null" : new String(codec, StandardCharsets.UTF_8);
+        if (!"null".equals(codecName) && !"deflate".equals(codecName)) {
+            throw new IOException("Unsupported codec: " + codecName);
+        }
+        return new Header(new Schema.Parser().parse(new String(schema, StandardCharsets.UTF_8)), codecName, sync, in.count);
+    }
+
+    private static final class Header {
+        final Schema schema;
+        final String codec;
+        final byte[] sync;
+        final long length;
+
+        Header(Schema schema, String codec, byte[] sync, long length) {
+            this.schema = schema;
+            this.codec = codec;
+            this.sync = sync;
+            this.length = length;
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+
+    /**
+     * Failure counts and samples for one block, merged in file order into the file's total.
+     */
+    private static final class BlockResult {
+        final long[] failures;
+        final long[][] samples;
+        long record;
+        long blockOffset;
+
+        BlockResult(int fields) {
+            this.failures = new long[fields];
+            this.samples = new long[fields][];
+        }
+
+        void fail(int field) {
+            long failed = failures[field]++;
+            if (failed < SAMPLE_FAILURES) {
+                if (samples[field] == null) {
+                    samples[field] = new long[SAMPLE_FAILURES * 2];
+                }
+                samples[field][(int) failed * 2] = record;
+                samples[field][(int) failed * 2 + 1] = blockOffset;
+            }
+        }
+
+        void merge(BlockResult block) {
+            for (int field = 0; field < failures.length; field++) {
+                long have = Math.min(failures[field], SAMPLE_FAILURES);
+                long take = Math.min(block.failures[field], SAMPLE_FAILURES - have);
+                if (take > 0 && samples[field] == null) {
+                    samples[field] = new long[SAMPLE_FAILURES * 2];
+                }
+                for (int i = 0; i < take; i++) {
+                    samples[field][(int) (have + i) * 2] = block.samples[field][i * 2];
+                    samples[field][(int) (have + i) * 2 + 1] = block.samples[field][i * 2 + 1];
+                }
+                failures[field] += block.failures[field];
+            }
+        }
+
+        long[] sampleRecords(int field) {
+            return sampled(field, 0);
+        }
+
+        long[] sampleBlocks(int field) {
+            return sampled(field, 1);
+        }
+
+        private long[] sampled(int field, int column) {
+            long[] values = new long[(int) Math.min(failures[field], SAMPLE_FAILURES)];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = samples[field][i * 2 + column];
+            }
+            return values;
+        }
+    }
+
+    /**
+     * Minimal Avro binary reader over a block's bytes; everything it skips costs no allocation.
+     */
+    private static final class BlockCursor {
+        private final byte[] bytes;
+        private int position;
+        private final int limit;
+
+        BlockCursor(byte[] bytes, int offset, int length) {
+            this.bytes = bytes;
+            this.position = offset;
+            this.limit = offset + length;
+        }
+
+        int position() {
+            return position;
+        }
+
+        int remaining() {
+            return limit - position;
+        }
+
+        long readLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (position >= limit) {
+                    throw new EOFException("Truncated block");
+                }
+                int b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return (value >>> 1) ^ -(value & 1);
+                }
+            }
+            throw new IOException("Invalid varint");
+        }
+
+        int readLength() throws IOException {
+            long length = readLong();
+            if (length < 0 || length > remaining()) {
+                throw new EOFException("Truncated block");
+            }
+            return (int) length;
+        }
+
+        void skip(long length) throws IOException {
+            if (length < 0 || length > remaining()) {
+                throw new EOFException("Truncated block");
+            }
+            position += (int) length;
+        }
+
+        boolean matches(ValidatedString type) throws IOException {
+            int length = readLength();
+            boolean valid = type.matches(bytes, position, length);
+            position += length;
+            return valid;
+        }
+    }
+
+    /**
+     * Decoding plan for one schema: validated strings are matched, everything else skipped.
+     */
+    private static final class Plan {
+        final List<String> fields = new ArrayList<>();
+        final List<ValidatedString> types = new ArrayList<>();
+        final Map<String, ValidatedString> currentTypes = new HashMap<>();
+        // Records whose node is being built, i.e. the enclosing records of the current path
+        final Map<Schema, RecordNode> enclosing = new IdentityHashMap<>();
+        // Set once a recursive record is met; item blocks are then always walked rather than skipped
+        boolean recursive;
+        final Node root;
+
+        Plan(Schema writer, Schema current) {
+            if (current != null) {
+                collect(current, "", currentTypes, new IdentityHashMap<>());
+            }
+            this.root = node(writer, "", current != null);
+        }
+
+        /**
+         * Maps the path of every validated string in {@code schema} to its type. A named record
+         * used in several fields is collected under each of them; a recursive one is only walked
+         * once per path, as the writer plan reuses its enclosing node for the recursion.
+         */
+        private static void collect(Schema schema, String path, Map<String, ValidatedString> types, Map<Schema, Boolean> enclosing) {
+            switch (schema.getType()) {
+                case RECORD:
+                    if (enclosing.put(schema, Boolean.TRUE) == null) {
+                        for (Schema.Field field : schema.getFields()) {
+                            collect(field.schema(), child(path, field.name()), types, enclosing);
+                        }
+                        enclosing.remove(schema);
+                    }
+                    break;
+                case UNION:
+                    for (Schema branch : schema.getTypes()) {
+                        collect(branch, path, types, enclosing);
+                    }
+                    break;
+                case ARRAY:
+                    collect(schema.getElementType(), path + "[]", types, enclosing);
+                    break;
+                case MAP:
+                    collect(schema.getValueType(), path + "{}", types, enclosing);
+                    break;
+                case STRING:
+                    if (schema.getLogicalType() instanceof ValidatedString) {
+                        types.put(path, (ValidatedString) schema.getLogicalType());
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private static String child(String path, String name) {
+            return path.isEmpty() ? name : path + '.' + name;
+        }
+
+        private Node node(Schema schema, String path, boolean useCurrent) {
+            switch (schema.getType()) {
+                case NULL:
+                    return (in, result) -> { };
+                case BOOLEAN:
+                    return (in, result) -> in.skip(1);
+                case INT:
+                case LONG:
+                case ENUM:
+                    return (in, result) -> in.readLong();
+                case FLOAT:
+                    return (in, result) -> in.skip(4);
+                case DOUBLE:
+                    return (in, result) -> in.skip(8);
+                case FIXED: {
+                    int size = schema.getFixedSize();
+                    return (in, result) -> in.skip(size);
+                }
+                case BYTES:
+                    return (in, result) -> in.skip(in.readLength());
+                case STRING: {
+                    ValidatedString type = useCurrent ? currentTypes.get(path)
+                            : schema.getLogicalType() instanceof ValidatedString ? (ValidatedString) schema.getLogicalType() : null;
+                    if (type == null) {
+                        return (in, result) -> in.skip(in.readLength());
+                    }
+                    int field = fields.size();
+                    fields.add(path);
+                    types.add(type);
+                    return (in, result) -> {
+                        if (!in.matches(type)) {
+                            result.fail(field);
+                        }
+                    };
+                }
+                case UNION: {
+                    Node[] branches = new Node[schema.getTypes().size()];
+                    for (int i = 0; i < branches.length; i++) {
+                        branches[i] = node(schema.getTypes().get(i), path, useCurrent);
+                    }
+                    return (in, result) -> {
+                        long branch = in.readLong();
+                        if (branch < 0 || branch >= branches.length) {
+                            throw new IOException("Invalid union branch " + branch);
+                        }
+                        branches[(int) branch].check(in, result);
+                    };
+                }
+                case ARRAY: {
+                    int before = fields.size();
+                    Node item = node(schema.getElementType(), path + "[]", useCurrent);
+                    return blocks(item, null, fields.size() > before || recursive);
+                }
+                case MAP: {
+                    int before = fields.size();
+                    Node value = node(schema.getValueType(), path + "{}", useCurrent);
+                    return blocks(value, (in, result) -> in.skip(in.readLength()), fields.size() > before || recursive);
+                }
+                case RECORD: {
+                    RecordNode record = enclosing.get(schema);
+                    if (record != null) {
+                        // A recursive record: reuse the node still being built further up, whose
+                        // contents are not known yet, and report under its path
+                        recursive = true;
+                        return record;
+                    }
+                    // Every other use gets its own node, so failures are reported under its path
+                    record = new RecordNode();
+                    enclosing.put(schema, record);
+                    List<Schema.Field> schemaFields = schema.getFields();
+                    Node[] children = new Node[schemaFields.size()];
+                    for (int i = 0; i < children.length; i++) {
+                        Schema.Field field = schemaFields.get(i);
+                        children[i] = node(field.schema(), child(path, field.name()), useCurrent);
+                    }
+                    record.fields = children;
+                    enclosing.remove(schema);
+                    return record;
+                }
+                default:
+                    throw new IllegalArgumentException("Unsupported schema type: " + schema.getType());
+            }
+        }
+
+        /**
+         * Array and map items come in counted blocks; a negative count is followed by the block's
+         * byte size, which lets items without validated strings be skipped in one step.
+         */
+        private static Node blocks(Node item, Node key, boolean validates) {
+            return (in, result) -> {
+                for (long count = in.readLong(); count != 0; count = in.readLong()) {
+                    if (count < 0) {
+                        long size = in.readLong();
+                        if (!validates) {
+                            in.skip(size);
+                            continue;
+                        }
+                        count = -count;
+                    }
+                    for (long i = 0; i < count; i++) {
+                        if (key != null) {
+                            key.check(in, result);
+                        }
+                        item.check(in, result);
+                    }
+                }
+            };
+        }
+    }
+
+    @FunctionalInterface
+    private interface Node {
+        void check(BlockCursor in, BlockResult result) throws IOException;
+    }
+
+    private static final class RecordNode implements Node {
+        Node[] fields;
+
+        @Override
+        public void check(BlockCursor in, BlockResult result) throws IOException {
+            for (Node field : fields) {
+                field.check(in, result);
+            }
+        }
+    }
+}
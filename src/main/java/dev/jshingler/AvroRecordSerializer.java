@@ -0,0 +1,230 @@
+package dev.jshingler;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.generic.IndexedRecord;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread-safe single-record serializer for request/response paths that encode and decode the same
+ * few schemas over and over.
+ * <p>
+ * Each schema is compiled once into a {@link CompiledDatumWriter} and {@link CompiledDatumReader},
+ * which validate the schema's validated-string fields. Encoders and decoders are bound for life to
+ * a resettable stream over a {@link ByteBuffer} and pooled, so a call only points the stream at
+ * the caller's buffer. The pools are shared queues rather than thread locals, so they stay as
+ * small as the peak number of concurrent calls however many virtual threads make them.
+ * <p>
+ * With a caller-supplied buffer and a record to reuse, the only allocations left are per string
+ * field: the UTF-8 bytes of each {@code String} written ({@code Utf8} values are written as they
+ * are) and the {@code String} of each validated-string field read.
+ */
+public final class AvroRecordSerializer {
+
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+    public static final int DEFAULT_MAX_POOLED_BUFFERS = 256;
+
+    private final ConcurrentMap<Schema, SchemaCodec> codecs = new ConcurrentHashMap<>();
+    private final Queue<WriteContext> writeContexts = new ConcurrentLinkedQueue<>();
+    private final Queue<ReadContext> readContexts = new ConcurrentLinkedQueue<>();
+    private final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooledBuffers = new AtomicInteger();
+    private final int bufferSize;
+    private final int maxPooledBuffers;
+
+    public AvroRecordSerializer() {
+        this(DEFAULT_BUFFER_SIZE, DEFAULT_MAX_POOLED_BUFFERS);
+    }
+
+    /**
+     * @param bufferSize       capacity of the direct buffers handed out by {@link #serialize(Schema, IndexedRecord)}
+     * @param maxPooledBuffers released buffers kept for reuse; the rest are left to the collector
+     */
+    public AvroRecordSerializer(int bufferSize, int maxPooledBuffers) {
+        if (bufferSize <= 0 || maxPooledBuffers < 0) {
+            throw new IllegalArgumentException("Invalid buffer pool: " + maxPooledBuffers + " buffers of " + bufferSize + " bytes");
+        }
+        this.bufferSize = bufferSize;
+        this.maxPooledBuffers = maxPooledBuffers;
+    }
+
+    /**
+     * Writes {@code record} into {@code target} from its position, advancing the position past it.
+     *
+     * @return the number of bytes written
+     * @throws BufferOverflowException if the record does not fit; the position is then unchanged
+     */
+    public int serialize(Schema schema, IndexedRecord record, ByteBuffer target) throws IOException {
+        CompiledDatumWriter<IndexedRecord> writer = codec(schema).writer;
+        WriteContext context = writeContexts.poll();
+        if (context == null) {
+            context = new WriteContext();
+        }
+        int start = target.position();
+        context.out.buffer = target;
+        try {
+            writer.write(record, context.encoder);
+        } catch (RuntimeException | IOException e) {
+            target.position(start);
+            throw e;
+        } finally {
+            context.out.buffer = null;
+            writeContexts.offer(context);
+        }
+        return target.position() - start;
+    }
+
+    /**
+     * Writes {@code record} into a pooled direct buffer, returned flipped so it can be read or
+     * handed to a channel. Pass it to {@link #release(ByteBuffer)} once done with it.
+     */
+    public ByteBuffer serialize(Schema schema, IndexedRecord record) throws IOException {
+        ByteBuffer buffer = acquire();
+        while (true) {
+            try {
+                serialize(schema, record, buffer);
+                return buffer.flip();
+            } catch (BufferOverflowException e) {
+                // Larger than any pooled buffer: retry in a one-off buffer that release() drops
+                release(buffer);
+                buffer = ByteBuffer.allocateDirect(buffer.capacity() * 2);
+            }
+        }
+    }
+
+    /**
+     * Returns an empty direct buffer of the configured size from the pool, allocating one if the
+     * pool is empty.
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = buffers.poll();
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(bufferSize);
+        }
+        pooledBuffers.decrementAndGet();
+        return buffer.clear();
+    }
+
+    /**
+     * Hands a buffer from {@link #acquire()} or {@link #serialize(Schema, IndexedRecord)} back to
+     * the pool. The caller must not touch it afterwards.
+     */
+    public void release(ByteBuffer buffer) {
+        if (!buffer.isDirect() || buffer.capacity() != bufferSize) {
+            return;
+        }
+        if (pooledBuffers.incrementAndGet() > maxPooledBuffers) {
+            pooledBuffers.decrementAndGet();
+            return;
+        }
+        buffers.offer(buffer);
+    }
+
+    /**
+     * Reads one record from {@code source}'s position, advancing the position past it.
+     *
+     * @param reuse a record of {@code schema} to fill in, or null for a new one
+     */
+    public GenericRecord deserialize(Schema schema, ByteBuffer source, GenericRecord reuse) throws IOException {
+        CompiledDatumReader reader = codec(schema).reader;
+        ReadContext context = readContexts.poll();
+        if (context == null) {
+            context = new ReadContext();
+        }
+        context.in.buffer = source;
+        try {
+            return reader.read(reuse, context.decoder);
+        } finally {
+            context.in.buffer = null;
+            readContexts.offer(context);
+        }
+    }
+
+    private SchemaCodec codec(Schema schema) {
+        SchemaCodec codec = codecs.get(schema);
+        return codec != null ? codec : codecs.computeIfAbsent(schema, SchemaCodec::new);
+    }
+
+    private static final class SchemaCodec {
+        final CompiledDatumWriter<IndexedRecord> writer;
+        final CompiledDatumReader reader;
+
+        SchemaCodec(Schema schema) {
+            this.writer = CompiledDatumWriter.forSchema(schema);
+            this.reader = CompiledDatumReader.forSchema(schema);
+        }
+    }
+
+    /**
+     * A direct encoder writes straight through to its stream with nothing buffered, so an overflow
+     * leaves no state behind and the context can go back to the pool.
+     */
+    private static final class WriteContext {
+        final ByteBufferOutputStream out = new ByteBufferOutputStream();
+        final BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(out, null);
+    }
+
+    /**
+     * A direct decoder reads no further ahead than the bytes it decodes, so the source's position
+     * ends up just past the record.
+     */
+    private static final class ReadContext {
+        final ByteBufferInputStream in = new ByteBufferInputStream();
+        final BinaryDecoder decoder = DecoderFactory.get().directBinaryDecoder(in, null);
+    }
+
+    private static final class ByteBufferOutputStream extends OutputStream {
+        ByteBuffer buffer;
+
+        @Override
+        public void write(int b) {
+            buffer.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            buffer.put(bytes, offset, length);
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        ByteBuffer buffer;
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package dev.jshingler;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, concurrent cache keyed on the UTF-8 bytes of a value.
+ * <p>
+ * Entries live in small sets of {@link #WAYS} slots selected by the key's hash; when a set is
+ * full, a CLOCK hand evicts the first entry not referenced since it last went round. Entries are
+ * immutable and published with a single volatile write, so lookups take no locks, allocate
+ * nothing, and concurrent inserts at worst overwrite each other's entries. Reference bits and
+ * hands are updated racily, which only makes eviction slightly less precise.
+ * <p>
+ * {@code String} keys are looked up without encoding them: ASCII characters hash and compare
+ * the same as their bytes. Non-ASCII strings and keys longer than {@link #MAX_KEY_LENGTH} are
+ * never cached.
+ */
+final class ByteKeyCache<V> {
+
+    static final int MAX_KEY_LENGTH = 256;
+    // Largest capacity whose rounding up to a power of two still fits in an int
+    static final int MAX_CAPACITY = 1 << 30;
+    private static final int WAYS = 4;
+    // Hash of keys that cannot be cached; mix() never returns it for a real key
+    private static final int NOT_CACHEABLE = 0;
+
+    private final AtomicReferenceArray<Entry<V>> entries;
+    private final byte[] hands;
+    private final int setMask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param capacity maximum number of entries, rounded up to a power of two
+     */
+    ByteKeyCache(int capacity) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Cache capacity must be from 1 to " + MAX_CAPACITY + ": " + capacity);
+        }
+        int sets = Math.max(1, Integer.highestOneBit(Math.max(capacity, WAYS) * 2 - 1) / WAYS);
+        this.entries = new AtomicReferenceArray<>(sets * WAYS);
+        this.hands = new byte[sets];
+        this.setMask = sets - 1;
+    }
+
+    int capacity() {
+        return entries.length();
+    }
+
+    long hits() {
+        return hits.sum();
+    }
+
+    long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the value cached for {@code bytes[offset, offset + length)}, or null.
+     */
+    V get(byte[] bytes, int offset, int length) {
+        if (length <= MAX_KEY_LENGTH) {
+            int hash = hash(bytes, offset, length);
+            int base = (hash & setMask) * WAYS;
+            for (int i = 0; i < WAYS; i++) {
+                Entry<V> entry = entries.get(base + i);
+                if (entry != null && entry.hash == hash
+                        && Arrays.equals(entry.key, 0, entry.key.length, bytes, offset, offset + length)) {
+                    return hit(entry);
+                }
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Returns the value cached for {@code value}'s UTF-8 bytes, or null.
+     */
+    V get(CharSequence value) {
+        int hash = hash(value);
+        if (hash != NOT_CACHEABLE) {
+            int base = (hash & setMask) * WAYS;
+            for (int i = 0; i < WAYS; i++) {
+                Entry<V> entry = entries.get(base + i);
+                if (entry != null && entry.hash == hash && asciiEquals(entry.key, value)) {
+                    return hit(entry);
+                }
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    void put(byte[] bytes, int offset, int length, V value) {
+        if (length <= MAX_KEY_LENGTH) {
+            insert(new Entry<>(hash(bytes, offset, length), Arrays.copyOfRange(bytes, offset, offset + length), value));
+        }
+    }
+
+    /**
+     * Caches {@code value} under an ASCII key; other keys are ignored.
+     */
+    void put(CharSequence key, V value) {
+        int hash = hash(key);
+        if (hash != NOT_CACHEABLE) {
+            byte[] bytes = new byte[key.length()];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = (byte) key.charAt(i);
+            }
+            insert(new Entry<>(hash, bytes, value));
+        }
+    }
+
+    private V hit(Entry<V> entry) {
+        if (!entry.referenced) {
+            entry.referenced = true;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    private void insert(Entry<V> entry) {
+        int set = entry.hash & setMask;
+        int base = set * WAYS;
+        for (int i = 0; i < WAYS; i++) {
+            Entry<V> existing = entries.get(base + i);
+            if (existing == null || (existing.hash == entry.hash && Arrays.equals(existing.key, entry.key))) {
+                entries.set(base + i, entry);
+                return;
+            }
+        }
+        // Every slot is taken: sweep the hand, giving referenced entries a second chance
+        int hand = hands[set];
+        for (int sweep = 0; sweep < 2 * WAYS; sweep++, hand++) {
+            Entry<V> existing = entries.get(base + (hand & (WAYS - 1)));
+            if (existing != null && existing.referenced) {
+                existing.referenced = false;
+            } else {
+                break;
+            }
+        }
+        entries.set(base + (hand & (WAYS - 1)), entry);
+        hands[set] = (byte) (hand + 1);
+    }
+
+    private static int hash(byte[] bytes, int offset, int length) {
+        int hash = 0x811C9DC5;
+        for (int i = offset; i < offset + length; i++) {
+            hash = (hash ^ (bytes[i] & 0xFF)) * 0x01000193;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * Hashes an ASCII sequence exactly as its bytes would hash, or returns {@link #NOT_CACHEABLE}.
+     */
+    private static int hash(CharSequence value) {
+        int length = value.length();
+        if (length > MAX_KEY_LENGTH) {
+            return NOT_CACHEABLE;
+        }
+        int hash = 0x811C9DC5;
+        int bits = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            bits |= c;
+            hash = (hash ^ c) * 0x01000193;
+        }
+        return bits >= 0x80 ? NOT_CACHEABLE : mix(hash);
+    }
+
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        return hash == NOT_CACHEABLE ? 1 : hash;
+    }
+
+    private static boolean asciiEquals(byte[] key, CharSequence value) {
+        if (key.length != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (key[i] != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Entry<V> {
+        final int hash;
+        final byte[] key;
+        final V value;
+        // Set on every hit, cleared as the CLOCK hand passes
+        boolean referenced;
+
+        Entry(int hash, byte[] key, V value) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package dev.jshingler;
+
+/**
+ * Remembers values that matched, so repeats skip the underlying {@link ValueMatcher}.
+ * <p>
+ * Only positive results are cached: a value that failed once is matched again every time, which
+ * keeps the cache from filling up with junk input. Worth enabling for heavily repeated values such
+ * as session or tenant ids; for fixed-shape patterns the matcher is usually cheaper than a lookup.
+ */
+final class CachingValueMatcher implements ValueMatcher {
+
+    private final ValueMatcher matcher;
+    private final ByteKeyCache<Boolean> matched;
+
+    CachingValueMatcher(ValueMatcher matcher, int capacity) {
+        this.matcher = matcher;
+        this.matched = new ByteKeyCache<>(capacity);
+    }
+
+    long hits() {
+        return matched.hits();
+    }
+
+    long misses() {
+        return matched.misses();
+    }
+
+    @Override
+    public boolean matches(CharSequence value) {
+        if (matched.get(value) != null) {
+            return true;
+        }
+        if (matcher.matches(value)) {
+            matched.put(value, Boolean.TRUE);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean matches(byte[] bytes, int offset, int length) {
+        if (matched.get(bytes, offset, length) != null) {
+            return true;
+        }
+        if (matcher.matches(bytes, offset, length)) {
+            matched.put(bytes, offset, length, Boolean.TRUE);
+            return true;
+        }
+        return false;
+    }
+}
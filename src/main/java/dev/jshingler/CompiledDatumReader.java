@@ -0,0 +1,212 @@
+package dev.jshingler;
+
+import org.apache.avro.AvroTypeException;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericArray;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericFixed;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.DatumReader;
+import org.apache.avro.io.Decoder;
+import org.apache.avro.util.Utf8;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link DatumReader} compiled once for a fixed schema, the read-side counterpart of
+ * {@link CompiledDatumWriter}.
+ * <p>
+ * Validated-string fields are decoded into a per-thread {@code Utf8}, matched on its bytes and only
+ * then turned into a {@code String}, with no conversion lookup per value. Other fields are read
+ * like {@code GenericDatumReader} does without conversions, reusing records, arrays and
+ * {@code Utf8} values from {@code reuse} where it can.
+ * <p>
+ * There is no schema resolution: data must have been written with the schema the reader was
+ * compiled for, so use {@code GenericDatumReader} for evolving schemas. Instances are safe to share
+ * between threads.
+ */
+public final class CompiledDatumReader implements DatumReader<GenericRecord> {
+
+    private static final ThreadLocal<Utf8> SCRATCH = ThreadLocal.withInitial(Utf8::new);
+
+    private final Schema schema;
+    private final ValueReader root;
+
+    private CompiledDatumReader(Schema schema) {
+        if (schema.getType() != Schema.Type.RECORD) {
+            throw new IllegalArgumentException("Compiled readers need a record schema, got: " + schema.getType());
+        }
+        this.schema = schema;
+        this.root = compile(schema, new IdentityHashMap<>());
+    }
+
+    public static CompiledDatumReader forSchema(Schema schema) {
+        return new CompiledDatumReader(schema);
+    }
+
+    public Schema getSchema() {
+        return schema;
+    }
+
+    /**
+     * Accepts only the schema this reader was compiled for, as the writer schema of a container file.
+     *
+     * @throws AvroTypeException for any other schema, since compiled readers do not resolve
+     */
+    @Override
+    public void setSchema(Schema writer) {
+        if (!schema.equals(writer)) {
+            throw new AvroTypeException("Compiled reader for " + schema.getFullName() + " cannot resolve writer schema " + writer.getFullName());
+        }
+    }
+
+    @Override
+    public GenericRecord read(GenericRecord reuse, Decoder in) throws IOException {
+        return (GenericRecord) root.read(reuse, in);
+    }
+
+    private static ValueReader compile(Schema schema, Map<Schema, RecordReader> records) {
+        switch (schema.getType()) {
+            case NULL:
+                return (reuse, in) -> {
+                    in.readNull();
+                    return null;
+                };
+            case BOOLEAN:
+                return (reuse, in) -> in.readBoolean();
+            case INT:
+                return (reuse, in) -> in.readInt();
+            case LONG:
+                return (reuse, in) -> in.readLong();
+            case FLOAT:
+                return (reuse, in) -> in.readFloat();
+            case DOUBLE:
+                return (reuse, in) -> in.readDouble();
+            case STRING: {
+                if (schema.getLogicalType() instanceof ValidatedString) {
+                    ValidatedString type = (ValidatedString) schema.getLogicalType();
+                    ValidationFailurePolicy policy = type.getFailurePolicy();
+                    return (reuse, in) -> {
+                        Utf8 value = in.readString(SCRATCH.get());
+                        type.validate(value, policy);
+                        return value.toString();
+                    };
+                }
+                return (reuse, in) -> in.readString(reuse instanceof Utf8 ? (Utf8) reuse : null);
+            }
+            case BYTES:
+                return (reuse, in) -> in.readBytes(reuse instanceof ByteBuffer ? (ByteBuffer) reuse : null);
+            case ENUM: {
+                List<String> symbols = schema.getEnumSymbols();
+                GenericData.EnumSymbol[] values = new GenericData.EnumSymbol[symbols.size()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = new GenericData.EnumSymbol(schema, symbols.get(i));
+                }
+                return (reuse, in) -> {
+                    int index = in.readEnum();
+                    if (index < 0 || index >= values.length) {
+                        throw new AvroTypeException("Invalid enum index " + index + " for " + schema.getFullName());
+                    }
+                    return values[index];
+                };
+            }
+            case FIXED: {
+                int size = schema.getFixedSize();
+                return (reuse, in) -> {
+                    GenericData.Fixed fixed = reuse instanceof GenericData.Fixed && ((GenericFixed) reuse).getSchema().equals(schema)
+                            ? (GenericData.Fixed) reuse : new GenericData.Fixed(schema);
+                    in.readFixed(fixed.bytes(), 0, size);
+                    return fixed;
+                };
+            }
+            case ARRAY: {
+                ValueReader items = compile(schema.getElementType(), records);
+                return (reuse, in) -> {
+                    long length = in.readArrayStart();
+                    @SuppressWarnings("unchecked")
+                    GenericArray<Object> array = reuse instanceof GenericData.Array
+                            ? (GenericData.Array<Object>) reuse : new GenericData.Array<>((int) length, schema);
+                    array.clear();
+                    for (; length > 0; length = in.arrayNext()) {
+                        for (long i = 0; i < length; i++) {
+                            array.add(items.read(array.peek(), in));
+                        }
+                    }
+                    return array;
+                };
+            }
+            case MAP: {
+                ValueReader values = compile(schema.getValueType(), records);
+                return (reuse, in) -> {
+                    long length = in.readMapStart();
+                    Map<Object, Object> map = new HashMap<>();
+                    for (; length > 0; length = in.mapNext()) {
+                        for (long i = 0; i < length; i++) {
+                            map.put(in.readString(null), values.read(null, in));
+                        }
+                    }
+                    return map;
+                };
+            }
+            case UNION: {
+                List<Schema> types = schema.getTypes();
+                ValueReader[] branches = new ValueReader[types.size()];
+                for (int i = 0; i < branches.length; i++) {
+                    branches[i] = compile(types.get(i), records);
+                }
+                return (reuse, in) -> {
+                    int branch = in.readIndex();
+                    if (branch < 0 || branch >= branches.length) {
+                        throw new AvroTypeException("Invalid union index " + branch + " for " + schema);
+                    }
+                    return branches[branch].read(reuse, in);
+                };
+            }
+            case RECORD: {
+                RecordReader record = records.get(schema);
+                if (record == null) {
+                    record = new RecordReader(schema);
+                    records.put(schema, record);
+                    List<Schema.Field> fields = schema.getFields();
+                    ValueReader[] readers = new ValueReader[fields.size()];
+                    for (int i = 0; i < readers.length; i++) {
+                        readers[i] = compile(fields.get(i).schema(), records);
+                    }
+                    record.fields = readers;
+                }
+                return record;
+            }
+            default:
+                throw new IllegalArgumentException("Unsupported schema type: " + schema.getType());
+        }
+    }
+
+    @FunctionalInterface
+    private interface ValueReader {
+        Object read(Object reuse, Decoder in) throws IOException;
+    }
+
+    private static final class RecordReader implements ValueReader {
+        private final Schema schema;
+        ValueReader[] fields;
+
+        RecordReader(Schema schema) {
+            this.schema = schema;
+        }
+
+        @Override
+        public Object read(Object reuse, Decoder in) throws IOException {
+            GenericData.Record record = reuse instanceof GenericData.Record && ((GenericRecord) reuse).getSchema() == schema
+                    ? (GenericData.Record) reuse : new GenericData.Record(schema);
+            for (int i = 0; i < fields.length; i++) {
+                record.put(i, fields[i].read(record.get(i), in));
+            }
+            return record;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package dev.jshingler;
+
+import org.apache.avro.AvroTypeException;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericFixed;
+import org.apache.avro.generic.IndexedRecord;
+import org.apache.avro.io.DatumWriter;
+import org.apache.avro.io.Encoder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link DatumWriter} compiled once for a fixed schema, for hot paths that write the same record
+ * type over and over.
+ * <p>
+ * Where {@code GenericDatumWriter} walks the schema for every datum and looks up a conversion for
+ * each logical field, this writer resolves the schema up front into a tree of per-field writers.
+ * Each validated-string field holds its {@link ValidatedString} directly and checks values with
+ * the schema's failure policy, so no conversion lookup or type dispatch happens per value. The
+ * encoder sees exactly the calls {@code GenericDatumWriter} makes, so any {@link Encoder} works,
+ * including validating ones.
+ * <p>
+ * Other logical types are written as their underlying Avro type, like {@code GenericData} without
+ * conversions. Instances are safe to share between threads.
+ */
+public final class CompiledDatumWriter<D extends IndexedRecord> implements DatumWriter<D> {
+
+    private volatile Schema schema;
+    private volatile ValueWriter root;
+
+    private CompiledDatumWriter(Schema schema) {
+        setSchema(schema);
+    }
+
+    public static <D extends IndexedRecord> CompiledDatumWriter<D> forSchema(Schema schema) {
+        return new CompiledDatumWriter<>(schema);
+    }
+
+    public Schema getSchema() {
+        return schema;
+    }
+
+    /**
+     * Recompiles for {@code schema}; a no-op if it equals the current one, as when
+     * {@code DataFileWriter.create} hands the writer its own schema.
+     */
+    @Override
+    public synchronized void setSchema(Schema schema) {
+        if (schema.getType() != Schema.Type.RECORD) {
+            throw new IllegalArgumentException("Compiled writers need a record schema, got: " + schema.getType());
+        }
+        if (!schema.equals(this.schema)) {
+            this.root = compile(schema, new IdentityHashMap<>());
+            this.schema = schema;
+        }
+    }
+
+    @Override
+    public void write(D datum, Encoder out) throws IOException {
+        root.write(datum, out);
+    }
+
+    private static ValueWriter compile(Schema schema, Map<Schema, RecordWriter> records) {
+        switch (schema.getType()) {
+            case NULL:
+                return (datum, out) -> {
+                    if (datum != null) {
+                        throw new AvroTypeException("Not null: " + datum);
+                    }
+                    out.writeNull();
+                };
+            case BOOLEAN:
+                return (datum, out) -> out.writeBoolean((Boolean) required(datum, schema));
+            case INT:
+                return (datum, out) -> out.writeInt(((Number) required(datum, schema)).intValue());
+            case LONG:
+                return (datum, out) -> out.writeLong(((Number) required(datum, schema)).longValue());
+            case FLOAT:
+                return (datum, out) -> out.writeFloat(((Number) required(datum, schema)).floatValue());
+            case DOUBLE:
+                return (datum, out) -> out.writeDouble(((Number) required(datum, schema)).doubleValue());
+            case STRING: {
+                if (schema.getLogicalType() instanceof ValidatedString) {
+                    ValidatedString type = (ValidatedString) schema.getLogicalType();
+                    ValidationFailurePolicy policy = type.getFailurePolicy();
+                    return (datum, out) -> {
+                        CharSequence value = (CharSequence) required(datum, schema);
+                        type.validate(value, policy);
+                        out.writeString(value);
+                    };
+                }
+                return (datum, out) -> out.writeString((CharSequence) required(datum, schema));
+            }
+            case BYTES:
+                return (datum, out) -> out.writeBytes(((ByteBuffer) required(datum, schema)).duplicate());
+            case ENUM:
+                return (datum, out) -> {
+                    String symbol = required(datum, schema).toString();
+                    if (!schema.hasEnumSymbol(symbol)) {
+                        throw new AvroTypeException("Not an enum: " + symbol + " for schema: " + schema);
+                    }
+                    out.writeEnum(schema.getEnumOrdinal(symbol));
+                };
+            case FIXED: {
+                int size = schema.getFixedSize();
+                return (datum, out) -> out.writeFixed(((GenericFixed) required(datum, schema)).bytes(), 0, size);
+            }
+            case ARRAY: {
+                ValueWriter items = compile(schema.getElementType(), records);
+                return (datum, out) -> {
+                    Collection<?> array = (Collection<?>) required(datum, schema);
+                    out.writeArrayStart();
+                    out.setItemCount(array.size());
+                    for (Object item : array) {
+                        out.startItem();
+                        items.write(item, out);
+                    }
+                    out.writeArrayEnd();
+                };
+            }
+            case MAP: {
+                ValueWriter values = compile(schema.getValueType(), records);
+                return (datum, out) -> {
+                    Map<?, ?> map = (Map<?, ?>) required(datum, schema);
+                    out.writeMapStart();
+                    out.setItemCount(map.size());
+                    for (Map.Entry<?, ?> entry : map.entrySet()) {
+                        out.startItem();
+                        out.writeString((CharSequence) entry.getKey());
+                        values.write(entry.getValue(), out);
+                    }
+                    out.writeMapEnd();
+                };
+            }
+            case UNION:
+                return union(schema, records);
+            case RECORD: {
+                RecordWriter record = records.get(schema);
+                if (record == null) {
+                    record = new RecordWriter(schema);
+                    records.put(schema, record);
+                    List<Schema.Field> fields = schema.getFields();
+                    ValueWriter[] writers = new ValueWriter[fields.size()];
+                    for (int i = 0; i < writers.length; i++) {
+                        writers[i] = compile(fields.get(i).schema(), records);
+                    }
+                    record.fields = writers;
+                }
+                return record;
+            }
+            default:
+                throw new IllegalArgumentException("Unsupported schema type: " + schema.getType());
+        }
+    }
+
+    private static ValueWriter union(Schema schema, Map<Schema, RecordWriter> records) {
+        List<Schema> types = schema.getTypes();
+        ValueWriter[] branches = new ValueWriter[types.size()];
+        for (int i = 0; i < branches.length; i++) {
+            branches[i] = compile(types.get(i), records);
+        }
+        Integer nullIndex = schema.getIndexNamed(Schema.Type.NULL.getName());
+        if (types.size() == 2 && nullIndex != null) {
+            // The common optional field: branch on null instead of resolving the union per value
+            int valueIndex = 1 - nullIndex;
+            return (datum, out) -> {
+                int branch = datum == null ? nullIndex : valueIndex;
+                out.writeIndex(branch);
+                branches[branch].write(datum, out);
+            };
+        }
+        return (datum, out) -> {
+            int branch = GenericData.get().resolveUnion(schema, datum);
+            out.writeIndex(branch);
+            branches[branch].write(datum, out);
+        };
+    }
+
+    private static Object required(Object datum, Schema schema) {
+        if (datum == null) {
+            throw new NullPointerException("null of " + schema.getType().getName());
+        }
+        return datum;
+    }
+
+    @FunctionalInterface
+    private interface ValueWriter {
+        void write(Object datum, Encoder out) throws IOException;
+    }
+
+    private static final class RecordWriter implements ValueWriter {
+        private final Schema schema;
+        ValueWriter[] fields;
+
+        RecordWriter(Schema schema) {
+            this.schema = schema;
+        }
+
+        @Override
+        public void write(Object datum, Encoder out) throws IOException {
+            IndexedRecord record = (IndexedRecord) required(datum, schema);
+            for (int i = 0; i < fields.length; i++) {
+                try {
+                    fields[i].write(record.get(i), out);
+                } catch (NullPointerException e) {
+                    throw new NullPointerException(e.getMessage() + " in field " + schema.getFields().get(i).name() + " of " + schema.getFullName());
+                } catch (ClassCastException e) {
+                    throw new ClassCastException(e.getMessage() + " in field " + schema.getFields().get(i).name() + " of " + schema.getFullName());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package dev.jshingler;
+
+/**
+ * Outcome of converting one input file, or a whole set of them, with {@link MultiLineAvroConverter}.
+ */
+public final class ConversionStats {
+
+    private final long written;
+    private final long rejected;
+    private final long inputBytes;
+    private final long elapsedNanos;
+    private final int inputFiles;
+    private final int outputFiles;
+
+    ConversionStats(long written, long rejected, long inputBytes, long elapsedNanos) {
+        this(written, rejected, inputBytes, elapsedNanos, 1, 1);
+    }
+
+    ConversionStats(long written, long rejected, long inputBytes, long elapsedNanos, int inputFiles, int outputFiles) {
+        this.written = written;
+        this.rejected = rejected;
+        this.inputBytes = inputBytes;
+        this.elapsedNanos = elapsedNanos;
+        this.inputFiles = inputFiles;
+        this.outputFiles = outputFiles;
+    }
+
+    public long getWritten() {
+        return written;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public long getInputBytes() {
+        return inputBytes;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public int getInputFiles() {
+        return inputFiles;
+    }
+
+    public int getOutputFiles() {
+        return outputFiles;
+    }
+
+    /**
+     * Input consumed per second of wall-clock time, in bytes.
+     */
+    public double getBytesPerSecond() {
+        return inputBytes / Math.max(elapsedNanos / 1e9, 1e-9);
+    }
+
+    /**
+     * Records written or rejected per second of wall-clock time.
+     */
+    public double getRecordsPerSecond() {
+        return (written + rejected) / Math.max(elapsedNanos / 1e9, 1e-9);
+    }
+
+    @Override
+    public String toString() {
+        String counts = written + " records written, " + rejected + " rejected";
+        if (inputFiles == 1 && outputFiles == 1) {
+            return counts;
+        }
+        return String.format("%s from %d files into %d files (%.1f MB/s, %.0f records/s)",
+                counts, inputFiles, outputFiles, getBytesPerSecond() / 1e6, getRecordsPerSecond());
+    }
+}
@@ -0,0 +1,121 @@
+package dev.jshingler;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of auditing one Avro container file with {@link AvroFileValidator}.
+ */
+public final class FileValidationReport {
+
+    private final File file;
+    private final long blocks;
+    private final long records;
+    private final long bytes;
+    private final long elapsedNanos;
+    private final List<FieldFailures> fields;
+
+    FileValidationReport(File file, long blocks, long records, long bytes, long elapsedNanos, List<FieldFailures> fields) {
+        this.file = file;
+        this.blocks = blocks;
+        this.records = records;
+        this.bytes = bytes;
+        this.elapsedNanos = elapsedNanos;
+        this.fields = Collections.unmodifiableList(fields);
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public long getBlocks() {
+        return blocks;
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * One entry per validated-string field in the file's schema, in schema order.
+     */
+    public List<FieldFailures> getFields() {
+        return fields;
+    }
+
+    public long getTotalFailures() {
+        long total = 0;
+        for (FieldFailures field : fields) {
+            total += field.getFailures();
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return file + ": " + records + " records in " + blocks + " blocks, " + getTotalFailures() + " failures";
+    }
+
+    /**
+     * Failures of one validated-string field, with the positions of the first few.
+     */
+    public static final class FieldFailures {
+        private final String field;
+        private final String pattern;
+        private final long failures;
+        private final long[] sampleRecords;
+        private final long[] sampleBlockOffsets;
+
+        FieldFailures(String field, String pattern, long failures, long[] sampleRecords, long[] sampleBlockOffsets) {
+            this.field = field;
+            this.pattern = pattern;
+            this.failures = failures;
+            this.sampleRecords = sampleRecords;
+            this.sampleBlockOffsets = sampleBlockOffsets;
+        }
+
+        /**
+         * Path of the field from the root record, e.g. {@code address.zip} or {@code tags[]}.
+         */
+        public String getField() {
+            return field;
+        }
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public long getFailures() {
+            return failures;
+        }
+
+        /**
+         * Zero-based indexes within the file of the first failing records, in file order.
+         */
+        public long[] getSampleRecords() {
+            return sampleRecords.clone();
+        }
+
+        /**
+         * Byte offsets of the blocks holding {@link #getSampleRecords()}, for seeking with
+         * {@code DataFileReader.seek}.
+         */
+        public long[] getSampleBlockOffsets() {
+            return sampleBlockOffsets.clone();
+        }
+
+        @Override
+        public String toString() {
+            return field + " " + pattern + ": " + failures + " failures";
+        }
+    }
+}
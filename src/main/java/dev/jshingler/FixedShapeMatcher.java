@@ -0,0 +1,66 @@
+package dev.jshingler;
+
+/**
+ * {@link ValueMatcher} for patterns that describe a fixed-length sequence of ASCII character
+ * classes, such as {@code ^[0-9]{3}-[0-9]{2}-[0-9]{4}$}.
+ * <p>
+ * Matching is a length check followed by one table lookup per position; there is no backtracking
+ * and no allocation. Every class is ASCII-only, so a byte of a multi-byte UTF-8 sequence never
+ * matches and the byte and char forms of a value always agree.
+ */
+final class FixedShapeMatcher implements ValueMatcher {
+
+    // Two 64-bit words per position: bits for chars 0-63, then 64-127
+    private final long[] masks;
+    // The same masks expanded to one entry per (position, ASCII char): index is position * 128 + char
+    private final boolean[] table;
+    private final int length;
+
+    FixedShapeMatcher(long[] masks) {
+        this.masks = masks;
+        this.length = masks.length / 2;
+        this.table = new boolean[length * 128];
+        for (int position = 0; position < length; position++) {
+            for (int c = 0; c < 128; c++) {
+                table[(position << 7) | c] = (masks[position * 2 + (c >>> 6)] & (1L << c)) != 0;
+            }
+        }
+    }
+
+    int length() {
+        return length;
+    }
+
+    /**
+     * Returns true if ASCII char {@code c} is accepted at {@code position}.
+     */
+    boolean accepts(int position, int c) {
+        return c >= 0 && c < 128 && table[(position << 7) | c];
+    }
+
+    @Override
+    public boolean matches(CharSequence value) {
+        if (value.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (!accepts(i, value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean matches(byte[] bytes, int offset, int length) {
+        if (length != this.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (!accepts(i, bytes[offset + i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,23 @@
+package dev.jshingler;
+
+/**
+ * Stackless failure thrown by {@link ValidationFailurePolicy#STACKLESS}.
+ * <p>
+ * A single shared instance is thrown for every failure, so it carries no details about the value.
+ * It extends {@link IllegalArgumentException} so existing handlers keep working.
+ */
+public final class InvalidValueException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    static final InvalidValueException INSTANCE = new InvalidValueException();
+
+    private InvalidValueException() {
+        super("Invalid validated-string value");
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -7,15 +7,51 @@ import org.apache.avro.generic.GenericDatumWriter;
 import org.apache.avro.generic.GenericRecord;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class MultiLineAvroConverter {
 
+    // Parsed-but-unwritten blocks allowed per worker; bounds memory for arbitrarily large inputs
+    private static final int IN_FLIGHT_PER_WORKER = 64;
+    private static final Future<ParsedBlock> END_OF_INPUT = CompletableFuture.completedFuture(null);
+    // Records parsed from one input before they are handed to a writer in multi-file mode
+    private static final int BATCH_RECORDS = 1024;
+    private static final long DEFAULT_ROLL_BYTES = 128L * 1024 * 1024;
+    private static final int DEFAULT_MAX_OPEN_FILES = 256;
+
+    // Per-worker buffers that blocks are copied into for byte-level parsing
+    private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[8192]);
+
     public static void main(String[] args) {
+        if (args.length > 0) {
+            convertAllMain(args);
+            return;
+        }
         String schemaFilePath = "user.avsc";
         String inputFilePath = "input.txt";
         String outputFilePath = "./users.avro";
+        String rejectFilePath = "./users.rejects.avro";
 
         // **IMPORTANT:** ValidatedString must be registered before parsing the schema
         // Could be done in application startup to minimize impact
@@ -32,76 +68,470 @@ public class MultiLineAvroConverter {
             return;
         }
 
-        // Step 2: Read the input file and create records
-        List<GenericRecord> records = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(inputFilePath))) {
-            String line;
-            GenericRecord record = new GenericData.Record(schema);
-
-            while ((line = reader.readLine()) != null) {
-                if (line.trim().isEmpty()) {
-                    // Blank line indicates end of record
-                    if (!record.getSchema().getFields().isEmpty()) {
-                        records.add(record);
-                        record = new GenericData.Record(schema);
-                    }
-                } else {
-                    String[] parts = line.split(":", 2);
-                    if (parts.length == 2) {
-                        String key = parts[0].trim();
-                        String value = parts[1].trim();
-                        try {
-//                            validateField(key, value);
-                            switch (key) {
-                                case "name":
-                                    record.put("name", value);
-                                    break;
-                                case "age":
-                                    record.put("age", Integer.parseInt(value));
-                                    break;
-                                case "email":
-                                    record.put("email", value.isEmpty() ? null : value);
-                                    break;
-                                case "sessionId":
-                                    record.put("sessionId",  value);
-                                    break;
-                                default:
-                                    System.err.println("Unknown field: " + key);
-                            }
-                        } catch (IllegalArgumentException e) {
-                            System.err.println("Validation error for field " + key + ": " + e.getMessage());
-                        }
-                    } else {
-                        System.err.println("Invalid line format: " + line);
-                    }
-                }
-            }
-            // Add the last record if the file does not end with a blank line
-            if (!record.getSchema().getFields().isEmpty()) {
-                records.add(record);
+        // Step 2: Stream blocks from the input through the parser pool into the Avro file
+        int workers = Runtime.getRuntime().availableProcessors();
+        try {
+            ConversionStats stats = convert(schema, new File(inputFilePath), new File(outputFilePath), new File(rejectFilePath), workers);
+            System.out.println("Avro file created successfully! " + stats);
+            if (stats.getRejected() > 0) {
+                System.out.println("Rejected blocks written to " + rejectFilePath);
             }
         } catch (FileNotFoundException e) {
             System.err.println("Input file not found: " + inputFilePath);
             e.printStackTrace();
-            return;
         } catch (IOException e) {
-            System.err.println("Failed to read input file: " + inputFilePath);
+            System.err.println("Failed to convert " + inputFilePath + " to " + outputFilePath);
             e.printStackTrace();
-            return;
         }
+    }
 
-        // Step 3: Write the records to an Avro file
-        try (DataFileWriter<GenericRecord> dataFileWriter = new DataFileWriter<>(new GenericDatumWriter<>(schema))) {
-            dataFileWriter.create(schema, new File(outputFilePath));
-            for (GenericRecord rec : records) {
-                dataFileWriter.append(rec);
+    /**
+     * Multi-file mode: {@code [--schema user.avsc] [--glob *.txt] [--output dir] [--prefix users]
+     * [--roll-size bytes] [--max-open n] [--writers n] [--rejects file] file-or-directory...}
+     */
+    private static void convertAllMain(String[] args) {
+        String schemaFilePath = "user.avsc";
+        String glob = "*.txt";
+        Path output = Path.of(".");
+        String prefix = "users";
+        long rollBytes = DEFAULT_ROLL_BYTES;
+        int maxOpenFiles = DEFAULT_MAX_OPEN_FILES;
+        int writers = Runtime.getRuntime().availableProcessors();
+        File rejects = null;
+        List<Path> roots = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            boolean hasValue = i + 1 < args.length;
+            if ("--schema".equals(args[i]) && hasValue) {
+                schemaFilePath = args[++i];
+            } else if ("--glob".equals(args[i]) && hasValue) {
+                glob = args[++i];
+            } else if ("--output".equals(args[i]) && hasValue) {
+                output = Path.of(args[++i]);
+            } else if ("--prefix".equals(args[i]) && hasValue) {
+                prefix = args[++i];
+            } else if ("--roll-size".equals(args[i]) && hasValue) {
+                rollBytes = Long.parseLong(args[++i]);
+            } else if ("--max-open".equals(args[i]) && hasValue) {
+                maxOpenFiles = Integer.parseInt(args[++i]);
+            } else if ("--writers".equals(args[i]) && hasValue) {
+                writers = Integer.parseInt(args[++i]);
+            } else if ("--rejects".equals(args[i]) && hasValue) {
+                rejects = new File(args[++i]);
+            } else {
+                roots.add(Path.of(args[i]));
             }
+        }
+        if (roots.isEmpty()) {
+            System.err.println("Usage: MultiLineAvroConverter [--schema user.avsc] [--glob *.txt] [--output dir] [--prefix users]"
+                    + " [--roll-size bytes] [--max-open n] [--writers n] [--rejects file] file-or-directory...");
+            System.exit(2);
+        }
+
+        ValidatedString.register();
+        try {
+            Schema schema = new Schema.Parser().parse(new File(schemaFilePath));
+            List<Path> inputs = inputFiles(roots, glob);
+            ConversionStats stats = convertAll(schema, inputs, output, prefix, rollBytes, maxOpenFiles, writers, rejects);
+            System.out.println("Avro files created successfully! " + stats);
         } catch (IOException e) {
-            System.err.println("Failed to write Avro file: " + outputFilePath);
+            System.err.println("Failed to convert into " + output);
             e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Expands directories to the regular files under them whose name matches {@code glob}; other
+     * paths are taken as they are.
+     */
+    private static List<Path> inputFiles(List<Path> roots, String glob) throws IOException {
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+        List<Path> inputs = new ArrayList<>();
+        for (Path root : roots) {
+            if (!Files.isDirectory(root)) {
+                inputs.add(root);
+                continue;
+            }
+            try (Stream<Path> files = Files.walk(root)) {
+                inputs.addAll(files.filter(file -> Files.isRegularFile(file) && matcher.matches(file.getFileName()))
+                        .sorted()
+                        .collect(Collectors.toList()));
+            }
+        }
+        return inputs;
+    }
+
+    /**
+     * Converts many blank-line-delimited text files at once into a set of Avro container files in
+     * {@code outputDirectory}, for loads made of many small inputs.
+     * <p>
+     * Each input is converted on its own virtual thread, all sharing one schema and one
+     * {@link TextRecordBinder}, so every validator is compiled once. At most {@code maxOpenFiles}
+     * inputs are open at a time. Parsed records are appended in batches to one of {@code writers}
+     * output files, each rolled over to a new file once it reaches {@code rollBytes} (see
+     * {@link RollingAvroWriter}), so parsing spreads over every core and writing over several
+     * files. Order is only kept within a batch of 1024 records: each batch goes to
+     * whichever writer is idle, so successive batches of one input can land in different files, and
+     * a later batch can be written before an earlier one.
+     * <p>
+     * Rejects are handled as in {@link #convert}, with each reject naming its input.
+     *
+     * @return totals over all inputs, with the number of input and output files
+     * @throws IOException if an input cannot be read or an output written; conversion stops there
+     */
+    public static ConversionStats convertAll(Schema schema, List<Path> inputs, Path outputDirectory, String prefix,
+                                             long rollBytes, int maxOpenFiles, int writers, File rejects) throws IOException {
+        if (rollBytes <= 0 || maxOpenFiles <= 0 || writers <= 0) {
+            throw new IllegalArgumentException("Invalid limits: roll size " + rollBytes + ", max open files " + maxOpenFiles
+                    + ", writers " + writers);
+        }
+        long started = System.nanoTime();
+        Files.createDirectories(outputDirectory);
+        TextRecordBinder binder = TextRecordBinder.forSchema(schema);
+        Semaphore openFiles = new Semaphore(maxOpenFiles);
+        AtomicInteger sequence = new AtomicInteger();
+        BlockingQueue<RollingAvroWriter> idle = new ArrayBlockingQueue<>(writers);
+        for (int i = 0; i < writers; i++) {
+            idle.add(new RollingAvroWriter(schema, outputDirectory, prefix, rollBytes, sequence));
+        }
+        LongAdder written = new LongAdder();
+        LongAdder rejected = new LongAdder();
+        LongAdder inputBytes = new LongAdder();
+
+        try (RejectFileWriter rejectWriter = rejects == null ? null : new RejectFileWriter(rejects)) {
+            try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> tasks = new ArrayList<>();
+                for (Path input : inputs) {
+                    tasks.add(threads.submit(() -> {
+                        convertFile(binder, input, openFiles, idle, rejectWriter, written, rejected, inputBytes);
+                        return null;
+                    }));
+                }
+                for (int i = 0; i < tasks.size(); i++) {
+                    try {
+                        tasks.get(i).get();
+                    } catch (InterruptedException e) {
+                        threads.shutdownNow();
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("Interrupted converting " + inputs.get(i));
+                    } catch (ExecutionException e) {
+                        threads.shutdownNow();
+                        throw new IOException("Failed to convert " + inputs.get(i), e.getCause());
+                    }
+                }
+            }
+        } finally {
+            // Every task has finished, so every writer is back in the queue
+            IOException failure = null;
+            for (RollingAvroWriter writer : idle) {
+                try {
+                    writer.close();
+                } catch (IOException e) {
+                    failure = failure == null ? e : failure;
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+        return new ConversionStats(written.sum(), rejected.sum(), inputBytes.sum(), System.nanoTime() - started,
+                inputs.size(), sequence.get());
+    }
+
+    /**
+     * Parses one input of {@link #convertAll} and appends its records a batch at a time to
+     * whichever writer is idle.
+     */
+    private static void convertFile(TextRecordBinder binder, Path input, Semaphore openFiles, BlockingQueue<RollingAvroWriter> idle,
+                                    RejectFileWriter rejectWriter, LongAdder written, LongAdder rejected,
+                                    LongAdder inputBytes) throws IOException, InterruptedException {
+        openFiles.acquire();
+        try (MultiLineBlockReader reader = new MultiLineBlockReader(input)) {
+            String source = input.toString();
+            List<ParsedBlock> batch = new ArrayList<>();
+            ByteBuffer block;
+            while ((block = reader.nextBlock()) != null) {
+                batch.add(parseBlock(binder, block, reader.blockOffset()));
+                if (batch.size() == BATCH_RECORDS) {
+                    writeBatch(batch, idle, rejectWriter, source, written, rejected);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                writeBatch(batch, idle, rejectWriter, source, written, rejected);
+            }
+            inputBytes.add(Files.size(input));
+        } finally {
+            openFiles.release();
+        }
+    }
+
+    /**
+     * Appends a batch of parsed blocks through whichever writer is idle, which may then roll.
+     */
+    private static void writeBatch(List<ParsedBlock> batch, BlockingQueue<RollingAvroWriter> idle, RejectFileWriter rejectWriter,
+                                   String source, LongAdder written, LongAdder rejected) throws IOException, InterruptedException {
+        RollingAvroWriter writer = idle.take();
+        try {
+            for (ParsedBlock parsed : batch) {
+                if (parsed.record != null) {
+                    try {
+                        writer.append(parsed.record);
+                        written.increment();
+                        continue;
+                    } catch (DataFileWriter.AppendWriteException e) {
+                        parsed.reject(null, null, String.valueOf(e.getCause()));
+                    }
+                }
+                rejected.increment();
+                reject(parsed, rejectWriter, source);
+            }
+            writer.rollIfFull();
+        } finally {
+            idle.add(writer);
+        }
+    }
+
+    /**
+     * Converts a blank-line-delimited text file into an Avro container file.
+     * <p>
+     * One reader thread splits the memory-mapped input into record blocks and hands each to a pool of
+     * {@code workers} that parse and validate in parallel. The calling thread appends the parsed
+     * records in input order. At most {@link #IN_FLIGHT_PER_WORKER} blocks per worker are held in
+     * memory at once, so memory stays constant regardless of input size.
+     * <p>
+     * Blocks that fail to parse, validate or append do not stop the conversion. They go to the
+     * {@code rejects} container (see {@link RejectFileWriter}), or to standard error when it is null.
+     * <p>
+     * The output carries a {@link ValidationStamp}, so readers using {@link ValidationStamp#openReader}
+     * skip validating it again.
+     */
+    public static ConversionStats convert(Schema schema, File input, File output, File rejects, int workers) throws IOException {
+        if (!input.isFile()) {
+            throw new FileNotFoundException(input.getPath());
         }
+        long started = System.nanoTime();
+        TextRecordBinder binder = TextRecordBinder.forSchema(schema);
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        BlockingQueue<Future<ParsedBlock>> pending = new ArrayBlockingQueue<>(workers * IN_FLIGHT_PER_WORKER);
+        AtomicReference<Throwable> readFailure = new AtomicReference<>();
 
-        System.out.println("Avro file created successfully!");
+        Thread reader = new Thread(() -> {
+            try {
+                readBlocks(input, (block, offset) -> pending.put(pool.submit(() -> parseBlock(binder, block, offset))));
+            } catch (InterruptedException | RejectedExecutionException e) {
+                // The writer stopped early; nobody is waiting for more blocks
+                return;
+            } catch (Throwable e) {
+                // Unchecked failures too, such as the InternalError of a mapped file truncated under us
+                readFailure.set(e);
+            } finally {
+                try {
+                    // Always ends the input, so the writer never waits on a dead reader
+                    pending.put(END_OF_INPUT);
+                } catch (InterruptedException e) {
+                    // The writer stopped early
+                }
+            }
+        }, "avro-converter-reader");
+        reader.setDaemon(true);
+        reader.start();
+
+        long written = 0;
+        long rejected = 0;
+        try (RejectFileWriter rejectWriter = rejects == null ? null : new RejectFileWriter(rejects);
+             DataFileWriter<GenericRecord> dataFileWriter = new DataFileWriter<>(new GenericDatumWriter<>(schema))) {
+            // Every appended record went through the binder's validation
+            ValidationStamp.stamp(dataFileWriter, schema);
+            dataFileWriter.create(schema, output);
+            for (Future<ParsedBlock> next = take(pending); next != END_OF_INPUT; next = take(pending)) {
+                ParsedBlock parsed = get(next);
+                if (parsed.record != null) {
+                    try {
+                        dataFileWriter.append(parsed.record);
+                        written++;
+                        continue;
+                    } catch (DataFileWriter.AppendWriteException e) {
+                        // The writer discards the partial record, so the file stays usable
+                        parsed.reject(null, null, String.valueOf(e.getCause()));
+                    }
+                }
+                rejected++;
+                reject(parsed, rejectWriter, input.getPath());
+            }
+        } finally {
+            // Stops the reader and discards queued work if the writer failed part way through
+            reader.interrupt();
+            pending.clear();
+            pool.shutdownNow();
+        }
+        Throwable failure = readFailure.get();
+        if (failure instanceof IOException) {
+            throw (IOException) failure;
+        }
+        if (failure != null) {
+            throw new IOException("Failed to read " + input, failure);
+        }
+        return new ConversionStats(written, rejected, input.length(), System.nanoTime() - started);
+    }
+
+    /**
+     * Sends a rejected block to {@code rejectWriter}, or to standard error when it is null.
+     */
+    private static void reject(ParsedBlock parsed, RejectFileWriter rejectWriter, String source) throws IOException {
+        if (rejectWriter != null) {
+            rejectWriter.reject(source, parsed.offset, parsed.block, parsed.field, parsed.pattern, parsed.reason);
+        } else {
+            System.err.println("Rejected block at offset " + parsed.offset + " of " + source
+                    + (parsed.field == null ? "" : " field " + parsed.field) + ": " + parsed.reason);
+        }
+    }
+
+    /**
+     * Passes each blank-line-delimited block of the input to {@code sink} as a slice of the
+     * memory-mapped file.
+     */
+    private static void readBlocks(File input, BlockSink sink) throws IOException, InterruptedException {
+        try (MultiLineBlockReader reader = new MultiLineBlockReader(input.toPath())) {
+            ByteBuffer block;
+            while ((block = reader.nextBlock()) != null) {
+                sink.accept(block, reader.blockOffset());
+            }
+        }
+    }
+
+    /**
+     * Builds one record from a block of {@code key: value} lines through the schema's binding plan,
+     * which also validates validated-string fields, so invalid data is caught on the worker rather
+     * than in the writer.
+     * <p>
+     * The block is copied once into a per-thread buffer and scanned as bytes; keys are resolved
+     * and values parsed straight from those bytes.
+     *
+     * @return the parsed block, carrying either the record or the reason it was rejected
+     */
+    private static ParsedBlock parseBlock(TextRecordBinder binder, ByteBuffer block, long offset) {
+        byte[] bytes = scratch(block.remaining());
+        int length = block.remaining();
+        block.get(block.position(), bytes, 0, length);
+
+        ParsedBlock parsed = new ParsedBlock(block, offset);
+        GenericRecord record = new GenericData.Record(binder.getSchema());
+        int line = 0;
+        while (line < length) {
+            int end = indexOf(bytes, (byte) '\n', line, length);
+            int lineEnd = end < 0 ? length : end;
+            int colon = indexOf(bytes, (byte) ':', line, lineEnd);
+            if (colon >= 0) {
+                int keyStart = trimStart(bytes, line, colon);
+                int keyEnd = trimEnd(bytes, keyStart, colon);
+                int valueStart = trimStart(bytes, colon + 1, lineEnd);
+                int valueEnd = trimEnd(bytes, valueStart, lineEnd);
+                int binding = binder.indexOf(bytes, keyStart, keyEnd);
+                if (binding < 0) {
+                    System.err.println("Unknown field: " + new String(bytes, keyStart, keyEnd - keyStart, StandardCharsets.UTF_8));
+                } else {
+                    ValidatedString validatedString = binder.validatedString(binding);
+                    try {
+                        if (!binder.bind(record, binding, bytes, valueStart, valueEnd)) {
+                            // Failed under a policy that does not throw; still diverted, not written
+                            return parsed.reject(binder.fieldName(binding), validatedString.getConstraint(),
+                                    "Invalid value, expected: " + validatedString.getConstraint());
+                        }
+                    } catch (IllegalArgumentException e) {
+                        return parsed.reject(binder.fieldName(binding),
+                                validatedString == null ? null : validatedString.getConstraint(), e.getMessage());
+                    }
+                }
+            } else {
+                System.err.println("Invalid line format: " + new String(bytes, line, lineEnd - line, StandardCharsets.UTF_8));
+            }
+            line = lineEnd + 1;
+        }
+        parsed.record = record;
+        return parsed;
+    }
+
+    private static byte[] scratch(int length) {
+        byte[] bytes = SCRATCH.get();
+        if (bytes.length < length) {
+            bytes = new byte[Math.max(length, bytes.length * 2)];
+            SCRATCH.set(bytes);
+        }
+        return bytes;
+    }
+
+    private static int indexOf(byte[] bytes, byte b, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (bytes[i] == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int trimStart(byte[] bytes, int from, int to) {
+        while (from < to && (bytes[from] & 0xFF) <= ' ') {
+            from++;
+        }
+        return from;
+    }
+
+    private static int trimEnd(byte[] bytes, int from, int to) {
+        while (to > from && (bytes[to - 1] & 0xFF) <= ' ') {
+            to--;
+        }
+        return to;
+    }
+
+    private static Future<ParsedBlock> take(BlockingQueue<Future<ParsedBlock>> pending) throws IOException {
+        try {
+            return pending.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for parsed records");
+        }
+    }
+
+    private static ParsedBlock get(Future<ParsedBlock> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for parsed records");
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to parse record block", e.getCause());
+        }
+    }
+
+    @FunctionalInterface
+    private interface BlockSink {
+        void accept(ByteBuffer block, long offset) throws InterruptedException;
+    }
+
+    /**
+     * A block of input and either the record parsed from it or why it was rejected.
+     */
+    private static final class ParsedBlock {
+        final ByteBuffer block;
+        final long offset;
+        GenericRecord record;
+        String field;
+        String pattern;
+        String reason;
+
+        ParsedBlock(ByteBuffer block, long offset) {
+            this.block = block;
+            this.offset = offset;
+        }
+
+        ParsedBlock reject(String field, String pattern, String reason) {
+            this.record = null;
+            this.field = field;
+            this.pattern = pattern;
+            this.reason = reason;
+            return this;
+        }
     }
 
     private static void validateField(String key, String value) {
@@ -0,0 +1,134 @@
+package dev.jshingler;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Splits a blank-line-delimited text file into record blocks without decoding it.
+ * <p>
+ * The file is memory-mapped a window at a time and scanned for line breaks as bytes. Each block is
+ * returned as a read-only slice of the mapping, so no bytes are copied or decoded here; the mapping
+ * stays alive for as long as any slice of it is referenced. Windows always restart at a block
+ * boundary, so a block never spans two mappings.
+ */
+final class MultiLineBlockReader implements Closeable {
+
+    private static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long size;
+    private final int windowSize;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private int cursor;
+    private long blockOffset = -1;
+
+    MultiLineBlockReader(Path path) throws IOException {
+        this(path, DEFAULT_WINDOW_SIZE);
+    }
+
+    MultiLineBlockReader(Path path, int windowSize) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.windowSize = windowSize;
+        map(0, windowSize);
+    }
+
+    /**
+     * Returns the next non-empty block of lines, without the blank line that ends it, or null at
+     * the end of the file.
+     */
+    ByteBuffer nextBlock() throws IOException {
+        while (true) {
+            int limit = window.limit();
+            boolean lastWindow = windowStart + limit >= size;
+
+            // Skip blank lines between blocks
+            int start = cursor;
+            while (start < limit) {
+                int end = lineEnd(start, limit);
+                if (end < 0 && !lastWindow) {
+                    break;
+                }
+                int next = end < 0 ? limit : end + 1;
+                if (!isBlank(start, end < 0 ? limit : end)) {
+                    break;
+                }
+                start = next;
+            }
+
+            // Collect lines up to the next blank line
+            int line = start;
+            while (line < limit) {
+                int end = lineEnd(line, limit);
+                if (end < 0) {
+                    break;
+                }
+                if (isBlank(line, end)) {
+                    cursor = end + 1;
+                    return slice(start, line);
+                }
+                line = end + 1;
+            }
+
+            if (lastWindow) {
+                cursor = limit;
+                return start < limit ? slice(start, limit) : null;
+            }
+            // The block runs past this window: remap from its start, growing if it alone fills the window
+            if (start == 0 && limit == Integer.MAX_VALUE) {
+                throw new IOException("Record block at offset " + windowStart + " exceeds " + Integer.MAX_VALUE + " bytes");
+            }
+            map(windowStart + start, start == 0 ? (long) limit * 2 : windowSize);
+        }
+    }
+
+    private void map(long position, long length) throws IOException {
+        long mapped = Math.min(Math.min(length, size - position), Integer.MAX_VALUE);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, position, mapped);
+        windowStart = position;
+        cursor = 0;
+    }
+
+    private int lineEnd(int from, int limit) {
+        for (int i = from; i < limit; i++) {
+            if (window.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isBlank(int from, int to) {
+        for (int i = from; i < to; i++) {
+            byte b = window.get(i);
+            if (b != ' ' && b != '\t' && b != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The byte offset in the file of the block last returned by {@link #nextBlock()}.
+     */
+    long blockOffset() {
+        return blockOffset;
+    }
+
+    private ByteBuffer slice(int from, int to) {
+        blockOffset = windowStart + from;
+        return window.slice(from, to - from).asReadOnlyBuffer();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,359 @@
+package dev.jshingler;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles validated-string patterns into the cheapest {@link ValueMatcher} that preserves their meaning.
+ * <p>
+ * Patterns built only from anchors, ASCII literals, ASCII character classes ({@code [0-9a-f]},
+ * {@code \d}, {@code \w}, {@code \s}) and exact quantifiers ({@code {n}} or {@code {n,n}}) describe
+ * a fixed-length shape and become a {@link FixedShapeMatcher}. A single class repeated a variable
+ * number of times ({@code ^[a-z0-9]+$}, {@code ^\d{4,8}$}) is only a length range and a charset,
+ * and becomes a {@link PrefilterMatcher}. Everything else falls back to {@link Pattern} through a
+ * {@link RegexValueMatcher}.
+ * <p>
+ * When the build includes the {@code vector} profile and the JVM runs with
+ * {@code --add-modules jdk.incubator.vector}, shapes of at least 16 positions whose classes are at
+ * most three ranges each are matched on bytes by a {@code VectorShapeMatcher}; shorter ones are
+ * faster with the scalar table. The class is looked up reflectively, so the default build needs
+ * neither the incubating module nor the class. Set {@code -Ddev.jshingler.vectorMatch=false} to
+ * keep the scalar matcher.
+ */
+final class PatternCompiler {
+
+    // Longest shape compiled to per-position masks; longer patterns go to the regex engine
+    private static final int MAX_SHAPE_LENGTH = 256;
+    // VectorShapeMatcher.create, or null if the module is not in the boot layer or the class was not built
+    private static final MethodHandle VECTOR_MATCHER = vectorMatcher();
+
+    private PatternCompiler() {
+    }
+
+    static ValueMatcher compile(Pattern pattern) {
+        FixedShapeMatcher shape = compileShape(pattern);
+        if (shape == null) {
+            PrefilterMatcher run = compileRun(pattern);
+            return run != null ? run : new RegexValueMatcher(pattern);
+        }
+        ValueMatcher vector = vectorize(shape);
+        return vector != null ? vector : shape;
+    }
+
+    private static ValueMatcher vectorize(FixedShapeMatcher shape) {
+        if (VECTOR_MATCHER == null || !Boolean.parseBoolean(System.getProperty("dev.jshingler.vectorMatch", "true"))) {
+            return null;
+        }
+        try {
+            return (ValueMatcher) VECTOR_MATCHER.invoke(shape);
+        } catch (LinkageError e) {
+            // The module resolved but the platform cannot run it; stay scalar
+            return null;
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MethodHandle vectorMatcher() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            Class<?> matcher = Class.forName("dev.jshingler.VectorShapeMatcher", false, PatternCompiler.class.getClassLoader());
+            return MethodHandles.lookup().findStatic(matcher, "create", MethodType.methodType(matcher, FixedShapeMatcher.class));
+        } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException | LinkageError e) {
+            // Built without the vector profile
+            return null;
+        }
+    }
+
+    /**
+     * Returns the fixed-length shape described by {@code pattern}, or null if it uses anything
+     * outside the supported subset.
+     */
+    static FixedShapeMatcher compileShape(Pattern pattern) {
+        if (pattern.flags() != 0) {
+            return null;
+        }
+        List<long[]> positions = new Parser(pattern.pattern()).parse();
+        if (positions == null) {
+            return null;
+        }
+        long[] masks = new long[positions.size() * 2];
+        for (int i = 0; i < positions.size(); i++) {
+            masks[i * 2] = positions.get(i)[0];
+            masks[i * 2 + 1] = positions.get(i)[1];
+        }
+        return new FixedShapeMatcher(masks);
+    }
+
+    /**
+     * Returns a matcher for a pattern that is one ASCII class under a variable quantifier, or null
+     * for any other pattern.
+     */
+    static PrefilterMatcher compileRun(Pattern pattern) {
+        if (pattern.flags() != 0) {
+            return null;
+        }
+        return new Parser(pattern.pattern()).parseRun();
+    }
+
+    private static final class Parser {
+        private final String regex;
+        private int pos;
+
+        Parser(String regex) {
+            this.regex = regex;
+        }
+
+        List<long[]> parse() {
+            int end = regex.length();
+            if (pos < end && regex.charAt(pos) == '^') {
+                pos++;
+            }
+            List<long[]> positions = new ArrayList<>();
+            while (pos < end) {
+                char c = regex.charAt(pos);
+                if (c == '$') {
+                    // Only a trailing anchor is supported
+                    if (pos != end - 1) {
+                        return null;
+                    }
+                    pos++;
+                    break;
+                }
+                long[] atom = parseAtom();
+                if (atom == null) {
+                    return null;
+                }
+                int count = parseQuantifier();
+                if (count < 0 || positions.size() + count > MAX_SHAPE_LENGTH) {
+                    return null;
+                }
+                for (int i = 0; i < count; i++) {
+                    positions.add(atom);
+                }
+            }
+            return positions;
+        }
+
+        PrefilterMatcher parseRun() {
+            int end = regex.length();
+            if (pos < end && regex.charAt(pos) == '^') {
+                pos++;
+            }
+            if (pos >= end) {
+                return null;
+            }
+            long[] atom = parseAtom();
+            if (atom == null || pos >= end) {
+                return null;
+            }
+            int min;
+            int max;
+            char c = regex.charAt(pos++);
+            if (c == '*' || c == '+') {
+                min = c == '*' ? 0 : 1;
+                max = Integer.MAX_VALUE;
+            } else if (c == '{') {
+                int close = regex.indexOf('}', pos);
+                if (close < 0) {
+                    return null;
+                }
+                String body = regex.substring(pos, close);
+                pos = close + 1;
+                int comma = body.indexOf(',');
+                try {
+                    min = Integer.parseInt(comma < 0 ? body : body.substring(0, comma));
+                    max = comma < 0 ? min : comma == body.length() - 1 ? Integer.MAX_VALUE : Integer.parseInt(body.substring(comma + 1));
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+                if (min < 0 || max < min) {
+                    return null;
+                }
+            } else {
+                return null;
+            }
+            // Whole-value matching leaves a lone class no way to backtrack, so lazy and possessive
+            // forms accept the same values
+            if (pos < end && (regex.charAt(pos) == '?' || regex.charAt(pos) == '+')) {
+                pos++;
+            }
+            if (pos == end - 1 && regex.charAt(pos) == '$') {
+                pos++;
+            }
+            return pos == end ? new PrefilterMatcher(min, max, atom, null) : null;
+        }
+
+        private long[] parseAtom() {
+            char c = regex.charAt(pos++);
+            switch (c) {
+                case '[':
+                    return parseClass();
+                case '\\':
+                    return parseEscape();
+                case '.': case '(': case ')': case '|': case '*': case '+': case '?':
+                case '{': case '}': case '^': case ']':
+                    return null;
+                default:
+                    return c < 128 ? single(c) : null;
+            }
+        }
+
+        /**
+         * Parses an exact repetition count following an atom; returns 1 when there is none and -1
+         * for anything that is not a fixed count.
+         */
+        private int parseQuantifier() {
+            if (pos >= regex.length()) {
+                return 1;
+            }
+            char c = regex.charAt(pos);
+            if (c == '*' || c == '+' || c == '?') {
+                return -1;
+            }
+            if (c != '{') {
+                return 1;
+            }
+            int close = regex.indexOf('}', pos);
+            if (close < 0) {
+                return -1;
+            }
+            String body = regex.substring(pos + 1, close);
+            pos = close + 1;
+            if (pos < regex.length() && (regex.charAt(pos) == '?' || regex.charAt(pos) == '+')) {
+                return -1;
+            }
+            int comma = body.indexOf(',');
+            try {
+                if (comma < 0) {
+                    return Integer.parseInt(body);
+                }
+                int min = Integer.parseInt(body.substring(0, comma));
+                int max = Integer.parseInt(body.substring(comma + 1));
+                return min == max ? min : -1;
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+
+        private long[] parseClass() {
+            if (pos < regex.length() && (regex.charAt(pos) == '^' || regex.charAt(pos) == ']')) {
+                return null;
+            }
+            long[] mask = new long[2];
+            while (pos < regex.length()) {
+                char c = regex.charAt(pos++);
+                if (c == ']') {
+                    return mask;
+                }
+                if (c == '[' || (c == '&' && pos < regex.length() && regex.charAt(pos) == '&')) {
+                    return null;
+                }
+                int from;
+                if (c == '\\') {
+                    long[] escaped = parseEscape();
+                    if (escaped == null) {
+                        return null;
+                    }
+                    int literal = literalOf(escaped);
+                    if (literal < 0) {
+                        // Predefined class such as \d; cannot start a range
+                        or(mask, escaped);
+                        continue;
+                    }
+                    from = literal;
+                } else if (c >= 128) {
+                    return null;
+                } else {
+                    from = c;
+                }
+                if (pos + 1 < regex.length() && regex.charAt(pos) == '-' && regex.charAt(pos + 1) != ']') {
+                    pos++;
+                    char t = regex.charAt(pos++);
+                    int to;
+                    if (t == '\\') {
+                        long[] escaped = parseEscape();
+                        to = escaped == null ? -1 : literalOf(escaped);
+                    } else {
+                        to = t < 128 && t != '[' ? t : -1;
+                    }
+                    if (to < 0 || to < from) {
+                        return null;
+                    }
+                    for (int i = from; i <= to; i++) {
+                        set(mask, i);
+                    }
+                } else {
+                    set(mask, from);
+                }
+            }
+            return null;
+        }
+
+        private long[] parseEscape() {
+            if (pos >= regex.length()) {
+                return null;
+            }
+            char c = regex.charAt(pos++);
+            switch (c) {
+                case 'd':
+                    return range(new long[2], '0', '9');
+                case 'w': {
+                    long[] mask = range(range(range(new long[2], 'a', 'z'), 'A', 'Z'), '0', '9');
+                    set(mask, '_');
+                    return mask;
+                }
+                case 's': {
+                    long[] mask = new long[2];
+                    for (char w : new char[] {' ', '\t', '\n', 0x0B, '\f', '\r'}) {
+                        set(mask, w);
+                    }
+                    return mask;
+                }
+                default:
+                    // Escaped punctuation is a literal; letter and digit escapes have other meanings
+                    if (c < 128 && !Character.isLetterOrDigit(c)) {
+                        return single(c);
+                    }
+                    return null;
+            }
+        }
+
+        private static long[] single(int c) {
+            long[] mask = new long[2];
+            set(mask, c);
+            return mask;
+        }
+
+        private static long[] range(long[] mask, int from, int to) {
+            for (int i = from; i <= to; i++) {
+                set(mask, i);
+            }
+            return mask;
+        }
+
+        private static void set(long[] mask, int c) {
+            mask[c >>> 6] |= 1L << c;
+        }
+
+        private static void or(long[] mask, long[] other) {
+            mask[0] |= other[0];
+            mask[1] |= other[1];
+        }
+
+        private static int literalOf(long[] mask) {
+            if (Long.bitCount(mask[0]) + Long.bitCount(mask[1]) != 1) {
+                return -1;
+            }
+            return mask[0] != 0 ? Long.numberOfTrailingZeros(mask[0]) : 64 + Long.numberOfTrailingZeros(mask[1]);
+        }
+    }
+}
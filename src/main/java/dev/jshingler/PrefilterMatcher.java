@@ -0,0 +1,131 @@
+package dev.jshingler;
+
+import java.util.Locale;
+
+/**
+ * {@link ValueMatcher} for the cheap validated-string properties: {@code minLength},
+ * {@code maxLength} and {@code charset}. Values that fail them are rejected before the pattern's
+ * matcher runs; without a pattern the properties are the whole check.
+ * <p>
+ * Lengths count Unicode code points, so a value has the same length as bytes and as chars. Most
+ * checks are decided by the encoded length alone: a UTF-8 value of {@code n} bytes has between
+ * {@code n / 4} and {@code n} code points, a {@code String} of {@code n} chars between
+ * {@code n / 2} and {@code n}. Only values in between are counted. A charset is a set of ASCII
+ * chars, checked with one table lookup per byte or char; every non-ASCII char is rejected.
+ */
+final class PrefilterMatcher implements ValueMatcher {
+
+    /**
+     * Named charsets accepted by the {@code charset} property.
+     */
+    enum Charset {
+        ASCII(0, 127),
+        PRINTABLE(' ', '~'),
+        ALPHANUMERIC('0', '9', 'A', 'Z', 'a', 'z'),
+        DIGITS('0', '9'),
+        HEX('0', '9', 'A', 'F', 'a', 'f');
+
+        // Bits for chars 0-63, then 64-127, as in FixedShapeMatcher
+        private final long[] mask = new long[2];
+
+        Charset(int... ranges) {
+            for (int i = 0; i < ranges.length; i += 2) {
+                for (int c = ranges[i]; c <= ranges[i + 1]; c++) {
+                    mask[c >>> 6] |= 1L << c;
+                }
+            }
+        }
+
+        String propertyName() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        static Charset named(String name) {
+            for (Charset charset : values()) {
+                if (charset.propertyName().equals(name)) {
+                    return charset;
+                }
+            }
+            throw new IllegalArgumentException("Invalid validated-string charset: " + name);
+        }
+    }
+
+    private final int minLength;
+    private final int maxLength;
+    private final long[] mask;
+    private final ValueMatcher next;
+
+    /**
+     * @param maxLength {@code Integer.MAX_VALUE} for no limit
+     * @param mask      accepted ASCII chars as two 64-bit words, or null for any char
+     * @param next      matcher for values that pass, or null if nothing else is checked
+     */
+    PrefilterMatcher(int minLength, int maxLength, long[] mask, ValueMatcher next) {
+        this.minLength = minLength;
+        this.maxLength = maxLength;
+        this.mask = mask;
+        this.next = next;
+    }
+
+    @Override
+    public boolean matches(CharSequence value) {
+        int length = value.length();
+        if (length < minLength) {
+            return false;
+        }
+        if (mask != null) {
+            // ASCII only, so chars are code points
+            if (length > maxLength) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (!accepts(value.charAt(i))) {
+                    return false;
+                }
+            }
+        } else if (length > maxLength || minLength > length / 2) {
+            int codePoints = Character.codePointCount(value, 0, length);
+            if (codePoints < minLength || codePoints > maxLength) {
+                return false;
+            }
+        }
+        return next == null || next.matches(value);
+    }
+
+    @Override
+    public boolean matches(byte[] bytes, int offset, int length) {
+        if (length < minLength) {
+            return false;
+        }
+        if (mask != null) {
+            if (length > maxLength) {
+                return false;
+            }
+            for (int i = offset; i < offset + length; i++) {
+                if (!accepts(bytes[i])) {
+                    return false;
+                }
+            }
+        } else if (length > maxLength || minLength > length / 4) {
+            int codePoints = 0;
+            for (int i = offset; i < offset + length; i++) {
+                // Count every byte that is not a continuation byte
+                if ((bytes[i] & 0xC0) != 0x80) {
+                    codePoints++;
+                }
+            }
+            if (codePoints < minLength || codePoints > maxLength) {
+                return false;
+            }
+        }
+        return next == null || next.matches(bytes, offset, length);
+    }
+
+    private boolean accepts(int c) {
+        return c >= 0 && c < 128 && (mask[c >>> 6] & (1L << c)) != 0;
+    }
+
+    static long[] maskOf(Charset charset) {
+        return charset == null ? null : charset.mask.clone();
+    }
+}
@@ -0,0 +1,42 @@
+package dev.jshingler;
+
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * General-purpose {@link ValueMatcher} backed by {@link Pattern}, used for anything
+ * {@link PatternCompiler} cannot reduce to a simpler shape.
+ * <p>
+ * The {@link Matcher} is reused per thread and ASCII byte ranges are matched through a reusable
+ * view, so a match allocates nothing for the common case.
+ */
+final class RegexValueMatcher implements ValueMatcher {
+
+    private static final ThreadLocal<AsciiByteSequence> ASCII_VIEWS = ThreadLocal.withInitial(AsciiByteSequence::new);
+
+    private final ThreadLocal<Matcher> matchers;
+
+    RegexValueMatcher(Pattern pattern) {
+        this.matchers = ThreadLocal.withInitial(() -> pattern.matcher(""));
+    }
+
+    @Override
+    public boolean matches(CharSequence value) {
+        return matchers.get().reset(value).matches();
+    }
+
+    @Override
+    public boolean matches(byte[] bytes, int offset, int length) {
+        Matcher matcher = matchers.get();
+        if (!AsciiByteSequence.isAscii(bytes, offset, length)) {
+            return matcher.reset(new String(bytes, offset, length, StandardCharsets.UTF_8)).matches();
+        }
+        AsciiByteSequence view = ASCII_VIEWS.get().wrap(bytes, offset, length);
+        try {
+            return matcher.reset(view).matches();
+        } finally {
+            view.clear();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package dev.jshingler;
+
+import org.apache.avro.Schema;
+import org.apache.avro.file.DataFileWriter;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Dead-letter output for input blocks that could not be converted.
+ * <p>
+ * Each reject is an Avro record holding the source file, the block's byte offset, the raw block
+ * bytes as read, the failing field and pattern when known, and the reason, so rejects can be
+ * inspected or replayed in bulk later. Rejects are queued and appended by a background thread;
+ * producers only block when the queue is full, and fail instead once that thread has stopped.
+ */
+final class RejectFileWriter implements Closeable {
+
+    static final Schema SCHEMA = new Schema.Parser().parse("""
+            {
+              "type": "record",
+              "name": "Reject",
+              "namespace": "dev.jshingler",
+              "fields": [
+                {"name": "source", "type": "string"},
+                {"name": "offset", "type": "long"},
+                {"name": "block", "type": "bytes"},
+                {"name": "field", "type": ["null", "string"], "default": null},
+                {"name": "pattern", "type": ["null", "string"], "default": null},
+                {"name": "reason", "type": "string"}
+              ]
+            }""");
+
+    private static final int QUEUE_CAPACITY = 1024;
+    // How often a producer waiting on a full queue checks that the writer thread is still running
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+    private static final GenericRecord END = new GenericData.Record(SCHEMA);
+
+    private final BlockingQueue<GenericRecord> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final DataFileWriter<GenericRecord> writer;
+    private final Thread thread;
+    private final LongAdder count = new LongAdder();
+    private volatile IOException failure;
+
+    RejectFileWriter(File file) throws IOException {
+        this.writer = new DataFileWriter<>(new GenericDatumWriter<GenericRecord>(SCHEMA));
+        writer.create(SCHEMA, file);
+        this.thread = new Thread(this::drain, "avro-reject-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Queues a reject. Safe to call from any thread; one reject file may serve several inputs.
+     *
+     * @param source the input file the block was read from
+     * @param block  the block's raw bytes, copied before this returns
+     */
+    void reject(String source, long offset, ByteBuffer block, String field, String pattern, String reason) throws IOException {
+        if (failure != null) {
+            throw failure;
+        }
+        GenericRecord reject = new GenericData.Record(SCHEMA);
+        reject.put(0, source);
+        reject.put(1, offset);
+        reject.put(2, ByteBuffer.allocate(block.remaining()).put(block.duplicate()).flip());
+        reject.put(3, field);
+        reject.put(4, pattern);
+        reject.put(5, reason == null ? "unknown" : reason);
+        enqueue(reject);
+        count.increment();
+    }
+
+    private void enqueue(GenericRecord record) throws IOException {
+        try {
+            while (!queue.offer(record, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (!thread.isAlive()) {
+                    throw failure != null ? failure : new IOException("Reject writer thread has stopped");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted queueing reject");
+        }
+    }
+
+    long count() {
+        return count.sum();
+    }
+
+    private void drain() {
+        List<GenericRecord> batch = new ArrayList<>();
+        try {
+            while (true) {
+                batch.add(queue.take());
+                queue.drainTo(batch);
+                for (GenericRecord reject : batch) {
+                    if (reject == END) {
+                        return;
+                    }
+                    if (failure == null) {
+                        try {
+                            writer.append(reject);
+                        } catch (IOException e) {
+                            // Keep draining so producers never block on a dead writer
+                            failure = e;
+                        } catch (RuntimeException e) {
+                            failure = new IOException("Could not write reject", e);
+                        }
+                    }
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            failure = new InterruptedIOException("Reject writer interrupted");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            enqueue(END);
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted closing reject writer");
+        } finally {
+            writer.close();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package dev.jshingler;
+
+import org.apache.avro.Schema;
+import org.apache.avro.file.DataFileWriter;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Appends records to a series of Avro container files, starting a new one once the current file
+ * has reached a target size.
+ * <p>
+ * Files are named {@code <prefix>-<n>.avro} with {@code n} taken from a counter that several
+ * writers can share, so parallel writers into one directory never pick the same name. The size is
+ * counted as bytes reach the file, so it trails what has been appended by the writer's buffers,
+ * around two blocks; call {@link #rollIfFull()} between batches of records. Each file carries a
+ * {@link ValidationStamp}, as its records are only ever parsed through a {@link TextRecordBinder}.
+ * <p>
+ * Not thread-safe: use one writer per thread at a time.
+ */
+final class RollingAvroWriter implements Closeable {
+
+    private final Schema schema;
+    private final Path directory;
+    private final String prefix;
+    private final long rollBytes;
+    private final AtomicInteger sequence;
+
+    private DataFileWriter<GenericRecord> writer;
+    private CountingOutputStream out;
+
+    RollingAvroWriter(Schema schema, Path directory, String prefix, long rollBytes, AtomicInteger sequence) {
+        this.schema = schema;
+        this.directory = directory;
+        this.prefix = prefix;
+        this.rollBytes = rollBytes;
+        this.sequence = sequence;
+    }
+
+    /**
+     * Appends a record, opening the next file first if none is open.
+     *
+     * @throws DataFileWriter.AppendWriteException if the record could not be written; the file is
+     *                                             still usable
+     */
+    void append(GenericRecord record) throws IOException {
+        if (writer == null) {
+            open();
+        }
+        writer.append(record);
+    }
+
+    /**
+     * Closes the current file if it has reached the target size, so the next append starts a new one.
+     */
+    void rollIfFull() throws IOException {
+        if (writer != null && out.count >= rollBytes) {
+            closeCurrent();
+        }
+    }
+
+    private void open() throws IOException {
+        Path file = directory.resolve(String.format("%s-%05d.avro", prefix, sequence.getAndIncrement()));
+        out = new CountingOutputStream(Files.newOutputStream(file));
+        writer = new DataFileWriter<>(new GenericDatumWriter<>(schema));
+        ValidationStamp.stamp(writer, schema);
+        writer.create(schema, out);
+    }
+
+    private void closeCurrent() throws IOException {
+        try {
+            writer.close();
+        } finally {
+            writer = null;
+            out = null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer != null) {
+            closeCurrent();
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+            count += length;
+        }
+    }
+}
@@ -7,13 +7,18 @@ import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.avro.io.*;
 import org.apache.avro.specific.SpecificData;
-import org.apache.avro.specific.SpecificDatumReader;
 import org.apache.avro.specific.SpecificDatumWriter;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 public class SerializeAvroRecordInMemory {
+
+    // Shared by every call: caches compiled writers and readers per schema and pools encoders,
+    // decoders and buffers
+    private static final AvroRecordSerializer SERIALIZER = new AvroRecordSerializer();
+
     public static void main(String[] args) throws IOException {
         // Define your Avro schema (replace with your actual schema)
         String schemaJson = """
@@ -75,41 +80,21 @@ public class SerializeAvroRecordInMemory {
     }
 
     private static byte[] serializeAvroRecord(Schema schema, GenericRecord record) throws IOException {
-        // Create Avro datum writer
-        DatumWriter<GenericRecord> datumWriter = new SpecificDatumWriter<>(schema);
-
-        // Create an output stream to hold the serialized data
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-
-        // Create Avro encoder that writes to the output stream
-//        Encoder encoder = EncoderFactory.get().binaryEncoder(outputStream, null);
-        Encoder encoder = EncoderFactory.get().validatingEncoder(schema,EncoderFactory.get().binaryEncoder(outputStream, null));
-
-        // Serialize record to the encoder
-        datumWriter.write( record, encoder);
-
-        // Flush the encoder (optional)
-        encoder.flush();
-
-        // Get the serialized bytes from the output stream
-        byte[] serializedBytes = outputStream.toByteArray();
-
-        // Close the output stream (optional, since it's ByteArrayOutputStream)
-        outputStream.close();
-
-        // Return the serialized bytes
-        return serializedBytes;
+        // Write into a pooled direct buffer with a pooled encoder and the writer compiled for the schema
+        ByteBuffer buffer = SERIALIZER.serialize(schema, record);
+        try {
+            // Copy the serialized bytes out before the buffer goes back to the pool
+            byte[] serializedBytes = new byte[buffer.remaining()];
+            buffer.get(serializedBytes);
+            return serializedBytes;
+        } finally {
+            SERIALIZER.release(buffer);
+        }
     }
 
     private static GenericRecord deserializeAvroRecord(Schema schema, byte[] serializedBytes) throws IOException {
-        // Create Avro datum reader
-        DatumReader<GenericRecord> datumReader = new SpecificDatumReader<>(schema);
-
-        // Create Avro decoder from the serialized bytes
-        Decoder decoder = DecoderFactory.get().validatingDecoder(schema,DecoderFactory.get().binaryDecoder(serializedBytes, null));
-
-        // Deserialize record from the decoder
-        return datumReader.read(null, decoder);
+        // Read with a pooled decoder and the reader compiled for the schema
+        return SERIALIZER.deserialize(schema, ByteBuffer.wrap(serializedBytes), null);
     }
 
 }
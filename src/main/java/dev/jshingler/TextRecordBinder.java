@@ -0,0 +1,212 @@
+package dev.jshingler;
+
+import org.apache.avro.LogicalType;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.util.Utf8;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Binding plan from {@code key: value} text to the fields of a record schema, built once per schema.
+ * <p>
+ * Each field gets a slot holding its UTF-8 name, its position and a parser for its type, including
+ * the {@link ValidatedString} check for validated-string fields. Keys are resolved on their raw
+ * bytes and values are stored with {@link GenericRecord#put(int, Object)}, so binding a line costs
+ * neither a {@code String} nor a field-name map lookup.
+ * <p>
+ * Supported field types are string, int, long, float, double, boolean, enum and unions of
+ * {@code null} with one of those, where an empty value binds to null.
+ */
+public final class TextRecordBinder {
+
+    private static final ThreadLocal<AsciiByteSequence> ASCII_VIEWS = ThreadLocal.withInitial(AsciiByteSequence::new);
+    // Parsed in place of a validated-string value that failed under a policy that returns normally
+    private static final Object INVALID = new Object();
+
+    private final Schema schema;
+    private final byte[][] keys;
+    private final int[] positions;
+    private final ValueParser[] parsers;
+    private final ValidatedString[] validatedStrings;
+    // Open-addressed hash of key bytes to binding index, -1 for empty slots
+    private final int[] table;
+
+    private TextRecordBinder(Schema schema) {
+        if (schema.getType() != Schema.Type.RECORD) {
+            throw new IllegalArgumentException("Text binding needs a record schema, got: " + schema.getType());
+        }
+        List<Schema.Field> fields = schema.getFields();
+        this.schema = schema;
+        this.keys = new byte[fields.size()][];
+        this.positions = new int[fields.size()];
+        this.parsers = new ValueParser[fields.size()];
+        this.validatedStrings = new ValidatedString[fields.size()];
+        for (int i = 0; i < fields.size(); i++) {
+            Schema.Field field = fields.get(i);
+            keys[i] = field.name().getBytes(StandardCharsets.UTF_8);
+            positions[i] = field.pos();
+            parsers[i] = parserFor(field, field.schema());
+            validatedStrings[i] = validatedStringOf(field.schema());
+        }
+        this.table = new int[Integer.highestOneBit(Math.max(1, fields.size()) * 4)];
+        Arrays.fill(table, -1);
+        for (int i = 0; i < keys.length; i++) {
+            int slot = hash(keys[i], 0, keys[i].length) & (table.length - 1);
+            while (table[slot] >= 0) {
+                slot = (slot + 1) & (table.length - 1);
+            }
+            table[slot] = i;
+        }
+    }
+
+    public static TextRecordBinder forSchema(Schema schema) {
+        return new TextRecordBinder(schema);
+    }
+
+    public Schema getSchema() {
+        return schema;
+    }
+
+    /**
+     * Returns the binding for the key held in {@code bytes[start, end)}, or -1 if the schema has no
+     * such field.
+     */
+    public int indexOf(byte[] bytes, int start, int end) {
+        int slot = hash(bytes, start, end) & (table.length - 1);
+        for (int index = table[slot]; index >= 0; index = table[slot]) {
+            if (Arrays.equals(keys[index], 0, keys[index].length, bytes, start, end)) {
+                return index;
+            }
+            slot = (slot + 1) & (table.length - 1);
+        }
+        return -1;
+    }
+
+    public String fieldName(int binding) {
+        return schema.getFields().get(binding).name();
+    }
+
+    /**
+     * The validated-string type of the binding's field, or null if it is not a validated string.
+     */
+    public ValidatedString validatedString(int binding) {
+        return validatedStrings[binding];
+    }
+
+    /**
+     * Parses the value held in {@code bytes[start, end)} for the given binding and stores it in
+     * {@code record}.
+     *
+     * @return false, leaving the field unset, if a validated-string value failed validation under a
+     *         failure policy that returns normally, such as {@code ignore}
+     * @throws IllegalArgumentException if the value cannot be parsed or fails validation under a
+     *                                  policy that throws
+     */
+    public boolean bind(GenericRecord record, int binding, byte[] bytes, int start, int end) {
+        Object value = parsers[binding].parse(bytes, start, end);
+        if (value == INVALID) {
+            return false;
+        }
+        record.put(positions[binding], value);
+        return true;
+    }
+
+    private static ValueParser parserFor(Schema.Field field, Schema schema) {
+        switch (schema.getType()) {
+            case STRING: {
+                LogicalType logicalType = schema.getLogicalType();
+                if (logicalType instanceof ValidatedString) {
+                    ValidatedString validatedString = (ValidatedString) logicalType;
+                    return (bytes, start, end) -> {
+                        Utf8 value = utf8(bytes, start, end);
+                        return validatedString.validate(value, validatedString.getFailurePolicy()) ? value : INVALID;
+                    };
+                }
+                return TextRecordBinder::utf8;
+            }
+            case INT:
+                return (bytes, start, end) -> Integer.parseInt(ascii(bytes, start, end), 0, end - start, 10);
+            case LONG:
+                return (bytes, start, end) -> Long.parseLong(ascii(bytes, start, end), 0, end - start, 10);
+            case FLOAT:
+                return (bytes, start, end) -> Float.parseFloat(new String(bytes, start, end - start, StandardCharsets.US_ASCII));
+            case DOUBLE:
+                return (bytes, start, end) -> Double.parseDouble(new String(bytes, start, end - start, StandardCharsets.US_ASCII));
+            case BOOLEAN:
+                return TextRecordBinder::parseBoolean;
+            case ENUM:
+                return (bytes, start, end) -> {
+                    String symbol = new String(bytes, start, end - start, StandardCharsets.UTF_8);
+                    if (!schema.hasEnumSymbol(symbol)) {
+                        throw new IllegalArgumentException("Unknown symbol " + symbol + " for enum " + schema.getFullName());
+                    }
+                    return new GenericData.EnumSymbol(schema, symbol);
+                };
+            case UNION: {
+                List<Schema> types = schema.getTypes();
+                if (types.size() == 2 && types.get(0).getType() == Schema.Type.NULL && types.get(1).getType() != Schema.Type.NULL) {
+                    return nullable(parserFor(field, types.get(1)));
+                }
+                if (types.size() == 2 && types.get(1).getType() == Schema.Type.NULL && types.get(0).getType() != Schema.Type.NULL) {
+                    return nullable(parserFor(field, types.get(0)));
+                }
+                break;
+            }
+            default:
+                break;
+        }
+        throw new IllegalArgumentException("Unsupported type for text field " + field.name() + ": " + schema);
+    }
+
+    private static ValidatedString validatedStringOf(Schema schema) {
+        if (schema.getType() == Schema.Type.UNION) {
+            for (Schema type : schema.getTypes()) {
+                if (type.getLogicalType() instanceof ValidatedString) {
+                    return (ValidatedString) type.getLogicalType();
+                }
+            }
+            return null;
+        }
+        return schema.getLogicalType() instanceof ValidatedString ? (ValidatedString) schema.getLogicalType() : null;
+    }
+
+    private static ValueParser nullable(ValueParser parser) {
+        return (bytes, start, end) -> start == end ? null : parser.parse(bytes, start, end);
+    }
+
+    private static Object parseBoolean(byte[] bytes, int start, int end) {
+        CharSequence value = ascii(bytes, start, end);
+        if ("true".contentEquals(value)) {
+            return Boolean.TRUE;
+        }
+        if ("false".contentEquals(value)) {
+            return Boolean.FALSE;
+        }
+        throw new IllegalArgumentException("Invalid boolean: " + value);
+    }
+
+    private static Utf8 utf8(byte[] bytes, int start, int end) {
+        return new Utf8(Arrays.copyOfRange(bytes, start, end));
+    }
+
+    private static CharSequence ascii(byte[] bytes, int start, int end) {
+        return ASCII_VIEWS.get().wrap(bytes, start, end - start);
+    }
+
+    private static int hash(byte[] bytes, int start, int end) {
+        int hash = 0x811C9DC5;
+        for (int i = start; i < end; i++) {
+            hash = (hash ^ bytes[i]) * 0x01000193;
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    @FunctionalInterface
+    private interface ValueParser {
+        Object parse(byte[] bytes, int start, int end);
+    }
+}
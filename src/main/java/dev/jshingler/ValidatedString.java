@@ -6,49 +6,356 @@ import org.apache.avro.LogicalTypes;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
 import org.apache.avro.specific.SpecificData;
+import org.apache.avro.util.Utf8;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import java.util.regex.Pattern;
 
 public class ValidatedString extends LogicalType {
 
     public static final String VALIDATED_STRING_LOGICAL_TYPE = "validated-string";
     private static final String PATTERN = "pattern";
+    private static final String FAILURE_POLICY = "failurePolicy";
+    private static final String DEFAULT_FAILURE_POLICY = "throw";
+    private static final String CACHE_SIZE = "cacheSize";
+    private static final String MIN_LENGTH = "minLength";
+    private static final String MAX_LENGTH = "maxLength";
+    private static final String CHARSET = "charset";
 
-    private Pattern pattern;
-    private Schema schema;
+    /**
+     * Largest {@code cacheSize} accepted. The cache is allocated in full when the schema is parsed,
+     * so one property must not be able to claim an arbitrary amount of memory.
+     */
+    public static final int MAX_CACHE_SIZE = 1 << 24;
+
+    // Upper bound on the number of distinct patterns kept in the intern cache. Beyond it, the
+    // least recently used entries are evicted CLOCK-style to make room for new ones.
+    private static final int MAX_CACHED_PATTERNS = 1024;
+    private static final ConcurrentMap<String, Interned> PATTERN_CACHE = new ConcurrentHashMap<>();
+
+    private static volatile boolean logicalTypeRegistered;
+    private static volatile boolean globalsRegistered;
+
+    // Values validated per fork/join leaf task in validateAll
+    private static final int BULK_SPLIT_THRESHOLD = 4096;
+
+    private final Pattern pattern;
+    private final ValueMatcher matcher;
+    private final String failurePolicyName;
+    private final ValidationFailurePolicy failurePolicy;
+    private final int cacheSize;
+    private final int minLength;
+    private final int maxLength;
+    private final PrefilterMatcher.Charset charset;
+    // Built once: metrics and reject reports read it for every value
+    private final String constraint;
 
     public ValidatedString() {
         super(VALIDATED_STRING_LOGICAL_TYPE);
+        this.pattern = null;
+        this.matcher = null;
+        this.failurePolicyName = DEFAULT_FAILURE_POLICY;
+        this.failurePolicy = ValidationFailurePolicy.THROW;
+        this.cacheSize = 0;
+        this.minLength = 0;
+        this.maxLength = Integer.MAX_VALUE;
+        this.charset = null;
+        this.constraint = describeConstraint();
     }
 
-    private ValidatedString(String pattern) {
+    private ValidatedString(String pattern, String failurePolicyName, int cacheSize,
+                            int minLength, int maxLength, PrefilterMatcher.Charset charset) {
         super(VALIDATED_STRING_LOGICAL_TYPE);
-        this.pattern = Pattern.compile(pattern);
+        this.pattern = pattern == null ? null : Pattern.compile(pattern);
+        this.failurePolicyName = failurePolicyName;
+        this.failurePolicy = ValidationFailurePolicy.named(failurePolicyName);
+        this.cacheSize = cacheSize;
+        this.minLength = minLength;
+        this.maxLength = maxLength;
+        this.charset = charset;
+        this.constraint = describeConstraint();
+
+        ValueMatcher compiled = this.pattern == null ? null : PatternCompiler.compile(this.pattern);
+        if (compiled != null && cacheSize > 0) {
+            compiled = new CachingValueMatcher(compiled, cacheSize);
+        }
+        // The cheap properties run first, so values they reject never reach the pattern or the cache
+        this.matcher = hasPrefilter() ? new PrefilterMatcher(minLength, maxLength, PrefilterMatcher.maskOf(charset), compiled) : compiled;
     }
 
     public ValidatedString(Schema schema) {
         super(VALIDATED_STRING_LOGICAL_TYPE);
-        if (!hasProperty(schema, PATTERN)) {
+        if (!hasProperty(schema, PATTERN) && !hasPrefilterProperty(schema)) {
+            throw new IllegalArgumentException("Invalid validated string: missing pattern");
+        }
+
+        ValidatedString shared = forSchema(schema);
+        this.pattern = shared.pattern;
+        this.matcher = shared.matcher;
+        this.failurePolicyName = shared.failurePolicyName;
+        this.failurePolicy = shared.failurePolicy;
+        this.cacheSize = shared.cacheSize;
+        this.minLength = shared.minLength;
+        this.maxLength = shared.maxLength;
+        this.charset = shared.charset;
+        this.constraint = shared.constraint;
+    }
+
+    /**
+     * Returns the shared, immutable instance for the given regular expression.
+     * Each distinct pattern is compiled once and reused by every schema that declares it.
+     */
+    public static ValidatedString forPattern(String pattern) {
+        return intern(pattern, DEFAULT_FAILURE_POLICY, 0, 0, Integer.MAX_VALUE, null);
+    }
+
+    /**
+     * Like {@link #forPattern(String)}, remembering up to {@code cacheSize} distinct values that
+     * matched so repeats skip the matcher; 0 disables the cache.
+     *
+     * @throws IllegalArgumentException if {@code cacheSize} is negative or above {@link #MAX_CACHE_SIZE}
+     */
+    public static ValidatedString forPattern(String pattern, int cacheSize) {
+        return intern(pattern, DEFAULT_FAILURE_POLICY, cacheSize, 0, Integer.MAX_VALUE, null);
+    }
+
+    /**
+     * Returns the shared instance that accepts values of {@code minLength} to {@code maxLength}
+     * code points made only of chars in {@code charset}, with no pattern.
+     *
+     * @param maxLength {@code Integer.MAX_VALUE} for no upper bound
+     * @param charset   one of {@code ascii}, {@code printable}, {@code alphanumeric},
+     *                  {@code digits} or {@code hex}; null for any char
+     */
+    public static ValidatedString forLength(int minLength, int maxLength, String charset) {
+        return intern(null, DEFAULT_FAILURE_POLICY, 0, minLength, maxLength,
+                charset == null ? null : PrefilterMatcher.Charset.named(charset));
+    }
+
+    /**
+     * Returns the shared, immutable instance for the validated-string properties of {@code schema}.
+     */
+    public static ValidatedString forSchema(Schema schema) {
+        String failurePolicy = schema.getProp(FAILURE_POLICY);
+        String charset = schema.getProp(CHARSET);
+        return intern(schema.getProp(PATTERN), failurePolicy == null ? DEFAULT_FAILURE_POLICY : failurePolicy,
+                intProperty(schema, CACHE_SIZE, "cache size", 0),
+                intProperty(schema, MIN_LENGTH, "minimum length", 0),
+                intProperty(schema, MAX_LENGTH, "maximum length", Integer.MAX_VALUE),
+                charset == null ? null : PrefilterMatcher.Charset.named(charset));
+    }
+
+    private static ValidatedString intern(String pattern, String failurePolicy, int cacheSize,
+                                          int minLength, int maxLength, PrefilterMatcher.Charset charset) {
+        boolean prefiltered = minLength != 0 || maxLength != Integer.MAX_VALUE || charset != null;
+        if (pattern == null && !prefiltered) {
             throw new IllegalArgumentException("Invalid validated string: missing pattern");
         }
+        if (cacheSize < 0 || cacheSize > MAX_CACHE_SIZE) {
+            throw new IllegalArgumentException("Invalid validated-string cache size: " + cacheSize
+                    + " (expected 0 to " + MAX_CACHE_SIZE + ")");
+        }
+        if (minLength < 0 || maxLength < minLength) {
+            throw new IllegalArgumentException("Invalid validated-string length range: " + minLength + " to " + maxLength);
+        }
+        String key = pattern;
+        if (pattern == null || prefiltered || !DEFAULT_FAILURE_POLICY.equals(failurePolicy) || cacheSize > 0) {
+            // Without a pattern the key has one field fewer, so it cannot collide with an empty pattern
+            key = (pattern == null ? "" : pattern + '\u0000') + failurePolicy + '\u0000' + cacheSize
+                    + '\u0000' + minLength + '\u0000' + maxLength + '\u0000' + (charset == null ? "" : charset.propertyName());
+        }
+        Interned cached = PATTERN_CACHE.get(key);
+        if (cached != null) {
+            if (!cached.referenced) {
+                cached.referenced = true;
+            }
+            return cached.type;
+        }
+        if (PATTERN_CACHE.size() >= MAX_CACHED_PATTERNS) {
+            evictPatterns();
+        }
+        return PATTERN_CACHE.computeIfAbsent(key,
+                k -> new Interned(new ValidatedString(pattern, failurePolicy, cacheSize, minLength, maxLength, charset))).type;
+    }
 
-        this.schema = schema;
-        this.pattern = Pattern.compile(schema.getProp("pattern"));
+    /**
+     * Makes room in the intern cache with a second-chance sweep: entries used since the last sweep
+     * lose their reference bit, the first one that has none is removed. Instances already handed
+     * out stay valid; only their next lookup compiles a fresh one.
+     */
+    private static void evictPatterns() {
+        synchronized (PATTERN_CACHE) {
+            for (int sweep = 0; sweep < 2; sweep++) {
+                for (Iterator<Interned> entries = PATTERN_CACHE.values().iterator(); entries.hasNext(); ) {
+                    if (PATTERN_CACHE.size() < MAX_CACHED_PATTERNS) {
+                        return;
+                    }
+                    Interned entry = entries.next();
+                    if (entry.referenced) {
+                        entry.referenced = false;
+                    } else {
+                        entries.remove();
+                    }
+                }
+            }
+        }
     }
 
+    /**
+     * Reads an optional integer property, written either as a JSON number or a string. Fractions
+     * and values outside the int range are rejected rather than truncated.
+     */
+    private static int intProperty(Schema schema, String name, String description, int defaultValue) {
+        Object value = schema.getObjectProp(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return new BigDecimal(value.toString()).intValueExact();
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new IllegalArgumentException("Invalid validated-string " + description + ": " + value);
+        }
+    }
+
+    /**
+     * The regular expression values must match, or null when the length and charset properties are
+     * the whole constraint.
+     */
     public Pattern getPattern() {
         return pattern;
     }
 
+    /**
+     * Shortest accepted value in code points, set with the schema's {@code minLength} property; 0
+     * when unset.
+     */
+    public int getMinLength() {
+        return minLength;
+    }
+
+    /**
+     * Longest accepted value in code points, set with the schema's {@code maxLength} property;
+     * {@code Integer.MAX_VALUE} when unset.
+     */
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * The chars values may contain, set with the schema's {@code charset} property; null when any
+     * char is allowed.
+     */
+    public String getCharset() {
+        return charset == null ? null : charset.propertyName();
+    }
+
+    /**
+     * Describes everything a value is checked against, for messages and reports: the pattern
+     * alone when no other property is set, e.g. {@code ^[a-z]+$ {maxLength=64, charset=ascii}}
+     * otherwise.
+     */
+    public String getConstraint() {
+        return constraint;
+    }
+
+    private String describeConstraint() {
+        StringBuilder constraint = new StringBuilder(pattern == null ? "" : pattern.pattern());
+        if (!hasPrefilter()) {
+            return constraint.toString();
+        }
+        if (pattern != null) {
+            constraint.append(' ');
+        }
+        String separator = "{";
+        if (minLength != 0) {
+            constraint.append(separator).append(MIN_LENGTH).append('=').append(minLength);
+            separator = ", ";
+        }
+        if (maxLength != Integer.MAX_VALUE) {
+            constraint.append(separator).append(MAX_LENGTH).append('=').append(maxLength);
+            separator = ", ";
+        }
+        if (charset != null) {
+            constraint.append(separator).append(CHARSET).append('=').append(charset.propertyName());
+        }
+        return constraint.append('}').toString();
+    }
+
+    /**
+     * The policy applied by the conversions when a value fails, selected with the schema's
+     * {@code failurePolicy} property.
+     */
+    public ValidationFailurePolicy getFailurePolicy() {
+        return failurePolicy;
+    }
+
+    /**
+     * Capacity of the matched-value cache, set with the schema's {@code cacheSize} property; 0 when
+     * values are always matched.
+     */
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * Values answered from the matched-value cache since this instance was created.
+     */
+    public long getCacheHits() {
+        return matcher instanceof CachingValueMatcher ? ((CachingValueMatcher) matcher).hits() : 0;
+    }
+
+    /**
+     * Values that had to go to the matcher with the cache enabled; 0 when it is disabled.
+     */
+    public long getCacheMisses() {
+        return matcher instanceof CachingValueMatcher ? ((CachingValueMatcher) matcher).misses() : 0;
+    }
+
     @Override
     public Schema addToSchema(Schema schema) {
-        super.addToSchema(schema);
-        schema.addProp(PATTERN, pattern);
-        return schema;
+        // The properties go first: super.addToSchema validates the schema against this type
+        if (pattern != null) {
+            schema.addProp(PATTERN, pattern.pattern());
+        }
+        if (!DEFAULT_FAILURE_POLICY.equals(failurePolicyName)) {
+            schema.addProp(FAILURE_POLICY, failurePolicyName);
+        }
+        if (cacheSize > 0) {
+            schema.addProp(CACHE_SIZE, cacheSize);
+        }
+        if (minLength != 0) {
+            schema.addProp(MIN_LENGTH, minLength);
+        }
+        if (maxLength != Integer.MAX_VALUE) {
+            schema.addProp(MAX_LENGTH, maxLength);
+        }
+        if (charset != null) {
+            schema.addProp(CHARSET, charset.propertyName());
+        }
+        return super.addToSchema(schema);
     }
 
     private boolean hasProperty(Schema schema, String name)  {
-        return schema.getProp(name) != null;
+        return schema.getObjectProp(name) != null;
+    }
+
+    private boolean hasPrefilterProperty(Schema schema) {
+        return hasProperty(schema, MIN_LENGTH) || hasProperty(schema, MAX_LENGTH) || hasProperty(schema, CHARSET);
+    }
+
+    private boolean hasPrefilter() {
+        return minLength != 0 || maxLength != Integer.MAX_VALUE || charset != null;
     }
 
     @Override
@@ -58,40 +365,326 @@ public class ValidatedString extends LogicalType {
         if (schema.getType() != Schema.Type.STRING ) {
             throw new IllegalArgumentException("Logical type validated-string must be backed by string");
         }
-        this.schema = schema;
-        pattern = Pattern.compile(schema.getProp("pattern"));
-        if (pattern == null) {
-            throw new IllegalArgumentException("Invalid validated-string pattern: " + pattern + " (must be a regular expression)");
+        String schemaPattern = schema.getProp(PATTERN);
+        if (schemaPattern == null && !hasPrefilterProperty(schema)) {
+            throw new IllegalArgumentException("Invalid validated string: missing pattern");
+        }
+        // The no-argument instance has no matcher and accepts any properties
+        if (matcher != null && !Objects.equals(schemaPattern, pattern == null ? null : pattern.pattern())) {
+            throw new IllegalArgumentException("Invalid validated-string pattern: " + schemaPattern + " (expected " + pattern + ")");
+        }
+        String schemaPolicy = schema.getProp(FAILURE_POLICY);
+        if (!failurePolicyName.equals(schemaPolicy == null ? DEFAULT_FAILURE_POLICY : schemaPolicy)) {
+            throw new IllegalArgumentException("Invalid validated-string failure policy: " + schemaPolicy + " (expected " + failurePolicyName + ")");
+        }
+        if (matcher == null) {
+            return;
+        }
+        int schemaCacheSize = intProperty(schema, CACHE_SIZE, "cache size", 0);
+        if (schemaCacheSize != cacheSize) {
+            throw new IllegalArgumentException("Invalid validated-string cache size: " + schemaCacheSize + " (expected " + cacheSize + ")");
+        }
+        int schemaMinLength = intProperty(schema, MIN_LENGTH, "minimum length", 0);
+        int schemaMaxLength = intProperty(schema, MAX_LENGTH, "maximum length", Integer.MAX_VALUE);
+        if (schemaMinLength != minLength || schemaMaxLength != maxLength) {
+            throw new IllegalArgumentException("Invalid validated-string length range: " + schemaMinLength + " to " + schemaMaxLength
+                    + " (expected " + minLength + " to " + maxLength + ")");
+        }
+        if (!Objects.equals(schema.getProp(CHARSET), getCharset())) {
+            throw new IllegalArgumentException("Invalid validated-string charset: " + schema.getProp(CHARSET) + " (expected " + getCharset() + ")");
         }
     }
 
     public void validate(String value) {
-        if (!pattern.matcher(value).matches()) {
-            throw new IllegalArgumentException("Invalid String: " + value + " Expected: " + pattern.toString());
+        if (!matches(value)) {
+            throw new IllegalArgumentException("Invalid String: " + value + " Expected: " + getConstraint());
+        }
+    }
+
+    public void validate(Utf8 value) {
+        if (!matches(value.getBytes(), 0, value.getByteLength())) {
+            throw new IllegalArgumentException("Invalid String: " + value + " Expected: " + getConstraint());
+        }
+    }
+
+    /**
+     * Validates {@code value}, handing failures to {@code policy}.
+     *
+     * @return true if the value matches; false if it does not and the policy let it through
+     */
+    public boolean validate(CharSequence value, ValidationFailurePolicy policy) {
+        if (matches(value)) {
+            return true;
+        }
+        policy.onFailure(this, value);
+        return false;
+    }
+
+    /**
+     * Matches without allocating: {@link Utf8} values are checked against their bytes, and simple
+     * fixed-shape patterns skip the regex engine entirely (see {@link PatternCompiler}). The
+     * {@code minLength}, {@code maxLength} and {@code charset} properties are checked before the
+     * pattern.
+     */
+    public boolean matches(CharSequence value) {
+        if (value instanceof Utf8) {
+            Utf8 utf8 = (Utf8) value;
+            return matcher.matches(utf8.getBytes(), 0, utf8.getByteLength());
         }
+        return matcher.matches(value);
+    }
+
+    /**
+     * Matches a range of UTF-8 encoded bytes.
+     */
+    public boolean matches(byte[] bytes, int offset, int length) {
+        return matcher.matches(bytes, offset, length);
     }
 
+    /**
+     * Validates a whole column of values and reports every failure instead of throwing on the first.
+     * Batches larger than a few thousand values are split across the common {@link ForkJoinPool}.
+     *
+     * @return the indexes of the values that do not match; null values count as failures
+     */
+    public BitSet validateAll(CharSequence[] values) {
+        return validateAll(Arrays.asList(values), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Same as {@link #validateAll(CharSequence[])}, for a list of values such as a column of {@link Utf8}.
+     */
+    public BitSet validateAll(List<? extends CharSequence> values) {
+        return validateAll(values, ForkJoinPool.commonPool());
+    }
+
+    public BitSet validateAll(List<? extends CharSequence> values, ForkJoinPool pool) {
+        List<? extends CharSequence> indexed = values instanceof RandomAccess ? values : new ArrayList<>(values);
+        if (indexed.size() <= BULK_SPLIT_THRESHOLD) {
+            return new BulkValidation(this, indexed, 0, indexed.size()).compute();
+        }
+        return pool.invoke(new BulkValidation(this, indexed, 0, indexed.size()));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ValidatedString)) {
+            return false;
+        }
+        ValidatedString other = (ValidatedString) o;
+        boolean samePattern = pattern == null ? other.pattern == null
+                : other.pattern != null && pattern.pattern().equals(other.pattern.pattern());
+        return samePattern && failurePolicyName.equals(other.failurePolicyName) && cacheSize == other.cacheSize
+                && minLength == other.minLength && maxLength == other.maxLength && charset == other.charset;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 31 * (31 * (pattern == null ? 0 : pattern.pattern().hashCode()) + failurePolicyName.hashCode()) + cacheSize;
+        return 31 * (31 * (31 * hash + minLength) + maxLength) + Objects.hashCode(charset);
+    }
+
+    /**
+     * Registers the logical type and adds the validated-string conversion to the process-wide
+     * {@code GenericData.get()} and {@code SpecificData.get()} models. Idempotent: only the first
+     * call does any work. Use {@link ValidatedStringModels} to avoid touching the global models.
+     */
     public static void register() {
-        LogicalTypes.register(ValidatedString.VALIDATED_STRING_LOGICAL_TYPE, new LogicalTypes.LogicalTypeFactory() {
+        if (globalsRegistered) {
+            return;
+        }
+        synchronized (ValidatedString.class) {
+            if (globalsRegistered) {
+                return;
+            }
+            registerLogicalType();
+            GenericData.get().addLogicalTypeConversion(new ValidatedString.ValidatedStringConversion(new ValidatedString()));
+            SpecificData.get().addLogicalTypeConversion(new ValidatedString.ValidatedStringConversion(new ValidatedString()));
+            globalsRegistered = true;
+        }
+    }
+
+    /**
+     * Registers only the logical type factory, which schema parsing needs, without touching any
+     * {@code GenericData} model. Idempotent and lock-free once done.
+     */
+    public static void registerLogicalType() {
+        if (logicalTypeRegistered) {
+            return;
+        }
+        synchronized (ValidatedString.class) {
+            if (logicalTypeRegistered) {
+                return;
+            }
+            LogicalTypes.register(ValidatedString.VALIDATED_STRING_LOGICAL_TYPE, new LogicalTypes.LogicalTypeFactory() {
 
-            private final LogicalType validatedString = new ValidatedString();
+                @Override
+                public LogicalType fromSchema(Schema schema) {
+                    // One immutable instance per distinct pattern, shared across schemas
+                    return forSchema(schema);
+                }
+            });
+            logicalTypeRegistered = true;
+        }
+    }
+
+    /**
+     * The validation step shared by the conversions: {@code override} replaces the type's failure
+     * policy when set, and {@code metrics} is null when disabled.
+     *
+     * @return true if the value matched
+     */
+    private static boolean validate(ValidatedString type, CharSequence value, Schema schema,
+                                    ValidationFailurePolicy override, ValidationMetrics metrics) {
+        ValidationFailurePolicy policy = override != null ? override : type.failurePolicy;
+        if (metrics == null) {
+            return type.validate(value, policy);
+        }
+        boolean timed = metrics.sampleLatency();
+        long start = timed ? System.nanoTime() : 0;
+        boolean valid = type.matches(value);
+        long latency = timed ? System.nanoTime() - start : -1;
+        metrics.recordValidation(schema, type, utf8Length(value), valid, latency);
+        if (!valid) {
+            policy.onFailure(type, value);
+        }
+        return valid;
+    }
 
-            @Override
-            public LogicalType fromSchema(Schema schema) {
-                return validatedString;
+    /**
+     * The value's length encoded as UTF-8, so metrics count bytes whichever representation the
+     * conversion was handed. Unpaired surrogates count as one byte, as {@code String.getBytes}
+     * replaces them with {@code ?}.
+     */
+    static int utf8Length(CharSequence value) {
+        if (value instanceof Utf8) {
+            return ((Utf8) value).getByteLength();
+        }
+        int length = value.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                continue;
+            }
+            if (c < 0x800) {
+                bytes++;
+            } else if (!Character.isSurrogate(c)) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                // Four bytes for the pair's two chars
+                bytes += 2;
+                i++;
             }
-        });
+        }
+        return bytes;
+    }
+
+    private static final class Interned {
+        final ValidatedString type;
+        // Set on every lookup, cleared as an eviction sweep passes
+        volatile boolean referenced;
 
-        GenericData.get().addLogicalTypeConversion(new ValidatedString.ValidatedStringConversion(new ValidatedString()));
-        SpecificData.get().addLogicalTypeConversion(new ValidatedString.ValidatedStringConversion(new ValidatedString()));
+        Interned(ValidatedString type) {
+            this.type = type;
+        }
     }
 
+    private static final class BulkValidation extends RecursiveTask<BitSet> {
+        // Fork/join tasks are never serialized; the fields are transient so -Xlint:serial stays quiet
+        private static final long serialVersionUID = 1L;
+
+        private final transient ValidatedString validatedString;
+        private final transient List<? extends CharSequence> values;
+        private final int from;
+        private final int to;
+
+        BulkValidation(ValidatedString validatedString, List<? extends CharSequence> values, int from, int to) {
+            this.validatedString = validatedString;
+            this.values = values;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected BitSet compute() {
+            if (to - from > BULK_SPLIT_THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                BulkValidation left = new BulkValidation(validatedString, values, from, middle);
+                left.fork();
+                BitSet failures = new BulkValidation(validatedString, values, middle, to).compute();
+                failures.or(left.join());
+                return failures;
+            }
+            BitSet failures = new BitSet();
+            for (int i = from; i < to; i++) {
+                CharSequence value = values.get(i);
+                if (value == null || !validatedString.matches(value)) {
+                    failures.set(i);
+                }
+            }
+            return failures;
+        }
+    }
 
     public static class ValidatedStringConversion extends Conversion<String> {
         private final ValidatedString logicalType;
+        private final ValidationFailurePolicy failurePolicy;
+        private final ValidationMetrics metrics;
+        private final boolean validating;
+        private final ValueInterner interner;
 
         public ValidatedStringConversion(ValidatedString logicalType) {
+            this(logicalType, null);
+        }
+
+        /**
+         * @param failurePolicy applied to every value this conversion handles, overriding the
+         *                      schema's {@code failurePolicy}; null to follow the schema
+         */
+        public ValidatedStringConversion(ValidatedString logicalType, ValidationFailurePolicy failurePolicy) {
+            this(logicalType, failurePolicy, ValidationMetrics.NOOP);
+        }
+
+        /**
+         * @param metrics notified of every value this conversion validates
+         */
+        public ValidatedStringConversion(ValidatedString logicalType, ValidationFailurePolicy failurePolicy, ValidationMetrics metrics) {
+            this(logicalType, failurePolicy, metrics, true);
+        }
+
+        /**
+         * @param internCapacity distinct values per validated-string type to keep canonical
+         *                       {@code String}s for; reads return the same instance for every
+         *                       copy of a value and validate it only the first time. 0 disables
+         *                       interning. Only values of up to 256 bytes are interned, and
+         *                       {@code String}s only when ASCII.
+         */
+        public ValidatedStringConversion(ValidatedString logicalType, ValidationFailurePolicy failurePolicy, ValidationMetrics metrics,
+                                         int internCapacity) {
+            this(logicalType, failurePolicy, metrics, true, internCapacity);
+        }
+
+        /**
+         * @param validating false to pass values through unchecked, for data known to be valid
+         */
+        ValidatedStringConversion(ValidatedString logicalType, ValidationFailurePolicy failurePolicy, ValidationMetrics metrics, boolean validating) {
+            this(logicalType, failurePolicy, metrics, validating, 0);
+        }
+
+        ValidatedStringConversion(ValidatedString logicalType, ValidationFailurePolicy failurePolicy, ValidationMetrics metrics, boolean validating,
+                                  int internCapacity) {
+            if (internCapacity < 0) {
+                throw new IllegalArgumentException("Invalid intern capacity: " + internCapacity);
+            }
             this.logicalType = logicalType;
+            this.failurePolicy = failurePolicy;
+            this.metrics = metrics.isEnabled() ? metrics : null;
+            this.validating = validating;
+            this.interner = internCapacity > 0 ? new ValueInterner(internCapacity) : null;
         }
 
         @Override
@@ -106,17 +699,124 @@ public class ValidatedString extends LogicalType {
 
         @Override
         public String fromCharSequence(CharSequence value, Schema schema, LogicalType type) {
-            String stringValue = value.toString();
-            ((ValidatedString) type).validate(stringValue);
-            return stringValue;
+            if (interner != null) {
+                return intern((ValidatedString) type, value, schema);
+            }
+            // Validates the decoder's Utf8 bytes; only decodes to String afterwards
+            if (validating) {
+                validate((ValidatedString) type, value, schema, failurePolicy, metrics);
+            }
+            return value.toString();
         }
 
         @Override
         public CharSequence toCharSequence(String value, Schema schema, LogicalType type) {
-            ((ValidatedString) type).validate(value);
+            if (interner != null) {
+                return intern((ValidatedString) type, value, schema);
+            }
+            if (validating) {
+                validate((ValidatedString) type, value, schema, failurePolicy, metrics);
+            }
             return value;
         }
 
+        /**
+         * Returns the canonical instance of {@code value}, validating and decoding it only if it
+         * is not in the type's dictionary yet.
+         */
+        private String intern(ValidatedString type, CharSequence value, Schema schema) {
+            ByteKeyCache<String> dictionary = interner.dictionary(type);
+            Utf8 utf8 = value instanceof Utf8 ? (Utf8) value : null;
+            String canonical = utf8 != null ? dictionary.get(utf8.getBytes(), 0, utf8.getByteLength()) : dictionary.get(value);
+            if (canonical != null) {
+                if (validating && metrics != null) {
+                    // Counted like any other valid value, without a latency sample
+                    metrics.recordValidation(schema, type, utf8Length(value), true, -1);
+                }
+                return canonical;
+            }
+            boolean valid = !validating || validate(type, value, schema, failurePolicy, metrics);
+            String decoded = value.toString();
+            if (valid) {
+                if (utf8 != null) {
+                    dictionary.put(utf8.getBytes(), 0, utf8.getByteLength(), decoded);
+                } else {
+                    dictionary.put(decoded, decoded);
+                }
+            }
+            return decoded;
+        }
+
     }
-}
 
+    /**
+     * Conversion that validates against the decoder's {@link Utf8} buffer and hands back the same
+     * {@code Utf8}, so reads allocate neither a {@code String} nor a {@code Matcher} per value.
+     * <p>
+     * Not registered by {@link #register()}; add it to a {@link GenericData} when callers don't need
+     * {@code java.lang.String}. Writes accept {@code Utf8} datums through this conversion and
+     * {@code String} datums through {@link ValidatedStringConversion}.
+     */
+    public static class ValidatedUtf8Conversion extends Conversion<Utf8> {
+        private final ValidatedString logicalType;
+        private final ValidationFailurePolicy failurePolicy;
+        private final ValidationMetrics metrics;
+        private final boolean validating;
+
+        public ValidatedUtf8Conversion(ValidatedString logicalType) {
+            this(logicalType, null);
+        }
+
+        /**
+         * @param failurePolicy applied to every value this conversion handles, overriding the
+         *                      schema's {@code failurePolicy}; null to follow the schema
+         */
+        public ValidatedUtf8Conversion(ValidatedString logicalType, ValidationFailurePolicy failurePolicy) {
+            this(logicalType, failurePolicy, ValidationMetrics.NOOP);
+        }
+
+        /**
+         * @param metrics notified of every value this conversion validates
+         */
+        public ValidatedUtf8Conversion(ValidatedString logicalType, ValidationFailurePolicy failurePolicy, ValidationMetrics metrics) {
+            this(logicalType, failurePolicy, metrics, true);
+        }
+
+        /**
+         * @param validating false to pass values through unchecked, for data known to be valid
+         */
+        ValidatedUtf8Conversion(ValidatedString logicalType, ValidationFailurePolicy failurePolicy, ValidationMetrics metrics, boolean validating) {
+            this.logicalType = logicalType;
+            this.failurePolicy = failurePolicy;
+            this.metrics = metrics.isEnabled() ? metrics : null;
+            this.validating = validating;
+        }
+
+        @Override
+        public Class<Utf8> getConvertedType() {
+            return Utf8.class;
+        }
+
+        @Override
+        public String getLogicalTypeName() {
+            return logicalType.getName();
+        }
+
+        @Override
+        public Utf8 fromCharSequence(CharSequence value, Schema schema, LogicalType type) {
+            Utf8 utf8 = value instanceof Utf8 ? (Utf8) value : new Utf8(value.toString());
+            if (validating) {
+                validate((ValidatedString) type, utf8, schema, failurePolicy, metrics);
+            }
+            return utf8;
+        }
+
+        @Override
+        public CharSequence toCharSequence(Utf8 value, Schema schema, LogicalType type) {
+            if (validating) {
+                validate((ValidatedString) type, value, schema, failurePolicy, metrics);
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package dev.jshingler;
+
+import org.apache.avro.Schema;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Built-in {@link ValidationMetrics}: per-field validation, failure and byte counters on
+ * {@link LongAdder}s, plus an optional sampled latency histogram, exposed over JMX.
+ * <p>
+ * Conversions only see the string schema of a value, not the field it belongs to, so record
+ * schemas are {@linkplain #bind(Schema) bound} up front. Binding maps each validated-string field's
+ * schema instance to its counters; values from schemas that were never bound are counted per pattern.
+ * Lookups are lock-free.
+ */
+public final class ValidatedStringMetrics implements ValidationMetrics, ValidatedStringMetricsMXBean {
+
+    private static final int HISTOGRAM_BUCKETS = 64;
+
+    private final int sampleMask;
+    private volatile Map<Schema, FieldCounters> bound = new IdentityHashMap<>();
+    private final ConcurrentMap<String, FieldCounters> unbound = new ConcurrentHashMap<>();
+
+    /**
+     * Counters only, no latency sampling.
+     */
+    public ValidatedStringMetrics() {
+        this(0);
+    }
+
+    /**
+     * @param latencySampleRate time one in this many validations; rounded up to a power of two,
+     *                          0 to disable latency sampling
+     */
+    public ValidatedStringMetrics(int latencySampleRate) {
+        if (latencySampleRate < 0) {
+            throw new IllegalArgumentException("Latency sample rate must not be negative: " + latencySampleRate);
+        }
+        this.sampleMask = latencySampleRate == 0 ? -1 : Integer.highestOneBit(Math.max(1, latencySampleRate * 2 - 1)) - 1;
+    }
+
+    /**
+     * Registers every validated-string field of {@code schema}, including nested records, so their
+     * values are counted per field.
+     */
+    public synchronized ValidatedStringMetrics bind(Schema schema) {
+        Map<Schema, FieldCounters> updated = new IdentityHashMap<>(bound);
+        bind(schema, schema.getFullName(), "", updated, Collections.newSetFromMap(new IdentityHashMap<>()));
+        bound = updated;
+        return this;
+    }
+
+    private static void bind(Schema schema, String record, String field, Map<Schema, FieldCounters> counters, Set<Schema> visited) {
+        switch (schema.getType()) {
+            case RECORD:
+                if (visited.add(schema)) {
+                    for (Schema.Field child : schema.getFields()) {
+                        bind(child.schema(), schema.getFullName(), child.name(), counters, visited);
+                    }
+                }
+                break;
+            case UNION:
+                for (Schema branch : schema.getTypes()) {
+                    bind(branch, record, field, counters, visited);
+                }
+                break;
+            case ARRAY:
+                bind(schema.getElementType(), record, field + "[]", counters, visited);
+                break;
+            case MAP:
+                bind(schema.getValueType(), record, field + "{}", counters, visited);
+                break;
+            case STRING:
+                if (schema.getLogicalType() instanceof ValidatedString) {
+                    String pattern = ((ValidatedString) schema.getLogicalType()).getConstraint();
+                    counters.putIfAbsent(schema, new FieldCounters(record, field, pattern));
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Registers this instance with the platform MBean server under
+     * {@code dev.jshingler:type=ValidatedStringMetrics,name=<name>}.
+     */
+    public ObjectName registerMBean(String name) throws JMException {
+        ObjectName objectName = new ObjectName("dev.jshingler:type=ValidatedStringMetrics,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+    @Override
+    public boolean sampleLatency() {
+        return sampleMask >= 0 && (ThreadLocalRandom.current().nextInt() & sampleMask) == 0;
+    }
+
+    @Override
+    public void recordValidation(Schema schema, ValidatedString type, int bytes, boolean valid, long latencyNanos) {
+        FieldCounters counters = bound.get(schema);
+        if (counters == null) {
+            // The constraint is built once per type, and its hash once per string
+            String constraint = type.getConstraint();
+            counters = unbound.get(constraint);
+            if (counters == null) {
+                counters = unbound.computeIfAbsent(constraint, c -> new FieldCounters("?", "?", c));
+            }
+        }
+        counters.record(bytes, valid, latencyNanos);
+    }
+
+    @Override
+    public List<ValidationStats> getStats() {
+        List<ValidationStats> stats = new ArrayList<>();
+        for (FieldCounters counters : bound.values()) {
+            stats.add(counters.snapshot());
+        }
+        for (FieldCounters counters : unbound.values()) {
+            stats.add(counters.snapshot());
+        }
+        return stats;
+    }
+
+    @Override
+    public long getTotalValidations() {
+        long total = 0;
+        for (ValidationStats stats : getStats()) {
+            total += stats.getValidations();
+        }
+        return total;
+    }
+
+    @Override
+    public long getTotalFailures() {
+        long total = 0;
+        for (ValidationStats stats : getStats()) {
+            total += stats.getFailures();
+        }
+        return total;
+    }
+
+    @Override
+    public void reset() {
+        for (FieldCounters counters : bound.values()) {
+            counters.reset();
+        }
+        unbound.clear();
+    }
+
+    private static final class FieldCounters {
+        private final String record;
+        private final String field;
+        private final String pattern;
+        private final LongAdder validations = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder latencyNanos = new LongAdder();
+        private final AtomicLongArray latencyHistogram = new AtomicLongArray(HISTOGRAM_BUCKETS);
+
+        FieldCounters(String record, String field, String pattern) {
+            this.record = record;
+            this.field = field;
+            this.pattern = pattern;
+        }
+
+        void record(int length, boolean valid, long nanos) {
+            validations.increment();
+            bytes.add(length);
+            if (!valid) {
+                failures.increment();
+            }
+            if (nanos >= 0) {
+                latencyNanos.add(nanos);
+                latencyHistogram.incrementAndGet(63 - Long.numberOfLeadingZeros(Math.max(1, nanos)));
+            }
+        }
+
+        ValidationStats snapshot() {
+            long[] histogram = new long[HISTOGRAM_BUCKETS];
+            long samples = 0;
+            for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+                histogram[i] = latencyHistogram.get(i);
+                samples += histogram[i];
+            }
+            return new ValidationStats(record, field, pattern, validations.sum(), failures.sum(), bytes.sum(),
+                    samples, latencyNanos.sum(), histogram);
+        }
+
+        void reset() {
+            validations.reset();
+            failures.reset();
+            bytes.reset();
+            latencyNanos.reset();
+            for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+                latencyHistogram.set(i, 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package dev.jshingler;
+
+import java.util.List;
+
+/**
+ * JMX view of {@link ValidatedStringMetrics}.
+ */
+public interface ValidatedStringMetricsMXBean {
+
+    List<ValidationStats> getStats();
+
+    long getTotalValidations();
+
+    long getTotalFailures();
+
+    void reset();
+}
@@ -0,0 +1,235 @@
+package dev.jshingler;
+
+import org.apache.avro.Conversion;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.io.DatumReader;
+import org.apache.avro.io.DatumWriter;
+import org.apache.avro.specific.SpecificData;
+import org.apache.avro.specific.SpecificDatumReader;
+import org.apache.avro.specific.SpecificDatumWriter;
+
+/**
+ * Private {@link GenericData} and {@link SpecificData} models with the validated-string conversions
+ * already bound, plus reader and writer factories that use them.
+ * <p>
+ * Unlike {@link ValidatedString#register()}, building models never touches the process-wide
+ * {@code GenericData.get()} / {@code SpecificData.get()} singletons, so tenants can configure their
+ * own models concurrently without disturbing in-flight readers. The models are frozen once built:
+ * adding further conversions throws {@link UnsupportedOperationException}. They are safe to share
+ * between threads.
+ */
+public final class ValidatedStringModels {
+
+    private final Builder settings;
+    private final GenericData genericData;
+    private final SpecificData specificData;
+    // Built on first use; benign race, the counterparts are interchangeable
+    private volatile ValidatedStringModels trusted;
+
+    private ValidatedStringModels(Builder builder) {
+        this.settings = builder.copy();
+        ValidatedString.registerLogicalType();
+        FrozenGenericData generic = new FrozenGenericData(builder.classLoader);
+        FrozenSpecificData specific = new FrozenSpecificData(builder.classLoader);
+        for (Conversion<?> conversion : builder.conversions()) {
+            generic.bind(conversion);
+            specific.bind(conversion);
+        }
+        generic.frozen = true;
+        specific.frozen = true;
+        this.genericData = generic;
+        this.specificData = specific;
+        if (!builder.validating) {
+            this.trusted = this;
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the shared models with default settings, built on first use.
+     */
+    public static ValidatedStringModels defaults() {
+        return DefaultHolder.DEFAULTS;
+    }
+
+    /**
+     * Returns models with the same settings whose conversions skip validation entirely, for data
+     * already known to be valid such as files carrying a matching {@link ValidationStamp}.
+     */
+    public ValidatedStringModels trusted() {
+        ValidatedStringModels models = trusted;
+        if (models == null) {
+            Builder builder = settings.copy();
+            builder.validating = false;
+            models = builder.build();
+            trusted = models;
+        }
+        return models;
+    }
+
+    /**
+     * False for the {@linkplain #trusted() trusted} counterpart, whose conversions never validate.
+     */
+    public boolean isValidating() {
+        return settings.validating;
+    }
+
+    public GenericData genericData() {
+        return genericData;
+    }
+
+    public SpecificData specificData() {
+        return specificData;
+    }
+
+    public <D> DatumReader<D> genericReader(Schema schema) {
+        return new GenericDatumReader<>(schema, schema, genericData);
+    }
+
+    public <D> DatumReader<D> genericReader(Schema writer, Schema reader) {
+        return new GenericDatumReader<>(writer, reader, genericData);
+    }
+
+    public <D> DatumWriter<D> genericWriter(Schema schema) {
+        return new GenericDatumWriter<>(schema, genericData);
+    }
+
+    public <D> DatumReader<D> specificReader(Schema schema) {
+        return new SpecificDatumReader<>(schema, schema, specificData);
+    }
+
+    public <D> DatumReader<D> specificReader(Schema writer, Schema reader) {
+        return new SpecificDatumReader<>(writer, reader, specificData);
+    }
+
+    public <D> DatumWriter<D> specificWriter(Schema schema) {
+        return new SpecificDatumWriter<>(schema, specificData);
+    }
+
+    public static final class Builder {
+        private ValidationFailurePolicy failurePolicy;
+        private ValidationMetrics metrics = ValidationMetrics.NOOP;
+        private boolean utf8;
+        private ClassLoader classLoader = ValidatedStringModels.class.getClassLoader();
+        private boolean validating = true;
+        private int internCapacity;
+
+        private Builder() {
+        }
+
+        private Builder copy() {
+            Builder copy = new Builder();
+            copy.failurePolicy = failurePolicy;
+            copy.metrics = metrics;
+            copy.utf8 = utf8;
+            copy.classLoader = classLoader;
+            copy.validating = validating;
+            copy.internCapacity = internCapacity;
+            return copy;
+        }
+
+        /**
+         * Overrides the schemas' {@code failurePolicy} for every value these models read or write.
+         */
+        public Builder failurePolicy(ValidationFailurePolicy failurePolicy) {
+            this.failurePolicy = failurePolicy;
+            return this;
+        }
+
+        /**
+         * Reports every validation made through these models, e.g. to a {@link ValidatedStringMetrics}.
+         */
+        public Builder metrics(ValidationMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        /**
+         * Reads validated strings as the decoder's {@code Utf8} instead of {@code String}.
+         */
+        public Builder utf8(boolean utf8) {
+            this.utf8 = utf8;
+            return this;
+        }
+
+        /**
+         * Reads validated strings through a bounded dictionary of up to {@code capacity} distinct
+         * values per type, so repeated values share one {@code String} and are validated once;
+         * 0, the default, disables it. Has no effect on {@code Utf8} reads.
+         */
+        public Builder intern(int capacity) {
+            if (capacity < 0) {
+                throw new IllegalArgumentException("Invalid intern capacity: " + capacity);
+            }
+            this.internCapacity = capacity;
+            return this;
+        }
+
+        public Builder classLoader(ClassLoader classLoader) {
+            this.classLoader = classLoader;
+            return this;
+        }
+
+        public ValidatedStringModels build() {
+            return new ValidatedStringModels(this);
+        }
+
+        private Conversion<?>[] conversions() {
+            Conversion<?> strings = new ValidatedString.ValidatedStringConversion(new ValidatedString(), failurePolicy, metrics, validating,
+                    internCapacity);
+            Conversion<?> utf8s = new ValidatedString.ValidatedUtf8Conversion(new ValidatedString(), failurePolicy, metrics, validating);
+            // Both bind for writes by datum class; the last one added decides what reads return
+            return utf8 ? new Conversion<?>[] {strings, utf8s} : new Conversion<?>[] {utf8s, strings};
+        }
+    }
+
+    private static final class DefaultHolder {
+        static final ValidatedStringModels DEFAULTS = builder().build();
+    }
+
+    private static final class FrozenGenericData extends GenericData {
+        private boolean frozen;
+
+        FrozenGenericData(ClassLoader classLoader) {
+            super(classLoader);
+        }
+
+        void bind(Conversion<?> conversion) {
+            super.addLogicalTypeConversion(conversion);
+        }
+
+        @Override
+        public void addLogicalTypeConversion(Conversion<?> conversion) {
+            if (frozen) {
+                throw new UnsupportedOperationException("Validated-string models are immutable");
+            }
+            super.addLogicalTypeConversion(conversion);
+        }
+    }
+
+    private static final class FrozenSpecificData extends SpecificData {
+        private boolean frozen;
+
+        FrozenSpecificData(ClassLoader classLoader) {
+            super(classLoader);
+        }
+
+        void bind(Conversion<?> conversion) {
+            super.addLogicalTypeConversion(conversion);
+        }
+
+        @Override
+        public void addLogicalTypeConversion(Conversion<?> conversion) {
+            if (frozen) {
+                throw new UnsupportedOperationException("Validated-string models are immutable");
+            }
+            super.addLogicalTypeConversion(conversion);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package dev.jshingler;
+
+/**
+ * Decides what happens when a value does not match its validated-string pattern.
+ * <p>
+ * A policy either throws, which aborts the read or write that hit the value, or returns normally,
+ * in which case the value is let through and the caller can act on the {@code false} returned by
+ * {@link ValidatedString#validate(CharSequence, ValidationFailurePolicy)}. Custom policies act as
+ * reject sinks: they are called with the offending value and can record it elsewhere. The value may
+ * be a {@code Utf8} the decoder reuses for the next record, so a sink that keeps it must copy it.
+ * <p>
+ * The built-in policies can be selected per schema with the {@code failurePolicy} property
+ * ({@code throw}, {@code stackless} or {@code ignore}); any policy can be set per conversion.
+ */
+@FunctionalInterface
+public interface ValidationFailurePolicy {
+
+    /**
+     * Throws an {@link IllegalArgumentException} naming the value and the constraint it failed. The default.
+     */
+    ValidationFailurePolicy THROW = (type, value) -> {
+        throw new IllegalArgumentException("Invalid String: " + value + " Expected: " + type.getConstraint());
+    };
+
+    /**
+     * Throws a single preallocated {@link InvalidValueException} with no stack trace and a fixed
+     * message, so dirty feeds pay neither for stack walking nor for message building.
+     */
+    ValidationFailurePolicy STACKLESS = (type, value) -> {
+        throw InvalidValueException.INSTANCE;
+    };
+
+    /**
+     * Lets the value through; callers rely on the result code instead.
+     */
+    ValidationFailurePolicy IGNORE = (type, value) -> {
+    };
+
+    void onFailure(ValidatedString type, CharSequence value);
+
+    /**
+     * Returns the built-in policy with the given schema property name.
+     */
+    static ValidationFailurePolicy named(String name) {
+        switch (name) {
+            case "throw":
+                return THROW;
+            case "stackless":
+                return STACKLESS;
+            case "ignore":
+                return IGNORE;
+            default:
+                throw new IllegalArgumentException("Unknown validated-string failure policy: " + name + " (expected throw, stackless or ignore)");
+        }
+    }
+}
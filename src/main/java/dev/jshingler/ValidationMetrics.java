@@ -0,0 +1,52 @@
+package dev.jshingler;
+
+import org.apache.avro.Schema;
+
+/**
+ * Service provider interface for observing validated-string checks made by the conversions.
+ * <p>
+ * {@link ValidatedStringMetrics} is the built-in implementation, backed by striped counters and
+ * exposed over JMX; other implementations can bridge to any metrics library. Implementations are
+ * called on the read and write hot paths from many threads, so they must be thread-safe and cheap.
+ * A conversion given {@link #NOOP}, or any implementation whose {@link #isEnabled()} is false, skips
+ * metrics entirely.
+ */
+public interface ValidationMetrics {
+
+    ValidationMetrics NOOP = new ValidationMetrics() {
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+
+        @Override
+        public boolean sampleLatency() {
+            return false;
+        }
+
+        @Override
+        public void recordValidation(Schema schema, ValidatedString type, int bytes, boolean valid, long latencyNanos) {
+        }
+    };
+
+    /**
+     * Checked once when a conversion is built; disabled metrics cost nothing per value.
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Called once per value to decide whether to time its validation.
+     */
+    boolean sampleLatency();
+
+    /**
+     * Records one validation.
+     *
+     * @param schema       the string schema carrying the logical type, as passed to the conversion
+     * @param bytes        the value's length encoded as UTF-8, whether it came as a {@code Utf8} or a {@code String}
+     * @param latencyNanos how long matching took, or -1 when this call was not sampled
+     */
+    void recordValidation(Schema schema, ValidatedString type, int bytes, boolean valid, long latencyNanos);
+}
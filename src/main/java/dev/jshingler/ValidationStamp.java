@@ -0,0 +1,157 @@
+package dev.jshingler;
+
+import org.apache.avro.Schema;
+import org.apache.avro.file.DataFileReader;
+import org.apache.avro.file.DataFileStream;
+import org.apache.avro.file.DataFileWriter;
+import org.apache.avro.io.DatumReader;
+import org.apache.avro.io.Decoder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Container file metadata recording that every validated-string value in the file was checked
+ * when it was written, so reading it back need not check again.
+ * <p>
+ * The stamp is a digest of where each validated-string appears in the schema and the constraint it
+ * carries: its pattern plus any length and charset properties. A reader trusts a file only when the stamp matches both the file's own schema and the
+ * schema it reads with; files from other writers, unstamped files and files written against
+ * different constraints are validated as usual.
+ * <p>
+ * Stamping is a promise by the writer: only stamp files whose values went through a validating
+ * conversion or {@link TextRecordBinder}. Schemas whose failure policy lets invalid values through
+ * are never stamped.
+ */
+public final class ValidationStamp {
+
+    public static final String METADATA_KEY = "dev.jshingler.validated";
+
+    private static final String DIGEST_PREFIX = "sha256:";
+
+    private ValidationStamp() {
+    }
+
+    /**
+     * Returns the stamp for {@code schema}, or null if one of its validated strings has a failure
+     * policy that does not reject invalid values.
+     */
+    public static String digest(Schema schema) {
+        StringBuilder description = new StringBuilder("v1\n");
+        if (!describe(schema, schema.getFullName(), description, Collections.newSetFromMap(new IdentityHashMap<>()))) {
+            return null;
+        }
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(description.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(DIGEST_PREFIX);
+            for (byte b : hash) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Stamps a file about to be written with {@code schema}. Call before {@link DataFileWriter#create}.
+     *
+     * @return false if the schema cannot be stamped, see {@link #digest(Schema)}
+     */
+    public static boolean stamp(DataFileWriter<?> writer, Schema schema) {
+        String digest = digest(schema);
+        if (digest == null) {
+            return false;
+        }
+        writer.setMeta(METADATA_KEY, digest);
+        return true;
+    }
+
+    /**
+     * Whether the values of an open file can be read with {@code readerSchema} without validation.
+     */
+    public static boolean isTrusted(DataFileStream<?> file, Schema readerSchema) {
+        String stamp = file.getMetaString(METADATA_KEY);
+        return stamp != null && stamp.equals(digest(file.getSchema())) && stamp.equals(digest(readerSchema));
+    }
+
+    /**
+     * Opens a container file for generic reads through {@code models}, or through their
+     * {@linkplain ValidatedStringModels#trusted() trusted} counterpart when the file's stamp matches.
+     */
+    public static <D> DataFileReader<D> openReader(File file, Schema readerSchema, ValidatedStringModels models) throws IOException {
+        DeferredDatumReader<D> datumReader = new DeferredDatumReader<>();
+        DataFileReader<D> reader = new DataFileReader<>(file, datumReader);
+        ValidatedStringModels chosen = isTrusted(reader, readerSchema) ? models.trusted() : models;
+        datumReader.delegate = chosen.genericReader(reader.getSchema(), readerSchema);
+        return reader;
+    }
+
+    /**
+     * Appends one line per validated string, in schema order, to {@code description}.
+     */
+    private static boolean describe(Schema schema, String path, StringBuilder description, Set<Schema> visited) {
+        switch (schema.getType()) {
+            case RECORD:
+                if (!visited.add(schema)) {
+                    description.append(path).append(" -> ").append(schema.getFullName()).append('\n');
+                    return true;
+                }
+                for (Schema.Field field : schema.getFields()) {
+                    if (!describe(field.schema(), schema.getFullName() + '.' + field.name(), description, visited)) {
+                        return false;
+                    }
+                }
+                return true;
+            case UNION:
+                for (Schema branch : schema.getTypes()) {
+                    if (!describe(branch, path, description, visited)) {
+                        return false;
+                    }
+                }
+                return true;
+            case ARRAY:
+                return describe(schema.getElementType(), path + "[]", description, visited);
+            case MAP:
+                return describe(schema.getValueType(), path + "{}", description, visited);
+            case STRING:
+                if (schema.getLogicalType() instanceof ValidatedString) {
+                    ValidatedString type = (ValidatedString) schema.getLogicalType();
+                    if (type.getFailurePolicy() != ValidationFailurePolicy.THROW
+                            && type.getFailurePolicy() != ValidationFailurePolicy.STACKLESS) {
+                        return false;
+                    }
+                    description.append(path).append('\0').append(type.getConstraint()).append('\n');
+                }
+                return true;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Lets the file header be read before choosing the model: {@link DataFileReader} needs a datum
+     * reader up front but only reads records after construction.
+     */
+    private static final class DeferredDatumReader<D> implements DatumReader<D> {
+        DatumReader<D> delegate;
+
+        @Override
+        public void setSchema(Schema schema) {
+            if (delegate != null) {
+                delegate.setSchema(schema);
+            }
+        }
+
+        @Override
+        public D read(D reuse, Decoder in) throws IOException {
+            return delegate.read(reuse, in);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package dev.jshingler;
+
+/**
+ * Point-in-time counters for one validated-string field, as reported by {@link ValidatedStringMetrics}.
+ */
+public final class ValidationStats {
+
+    private final String schema;
+    private final String field;
+    private final String pattern;
+    private final long validations;
+    private final long failures;
+    private final long bytes;
+    private final long latencySamples;
+    private final long latencyNanosTotal;
+    private final long[] latencyHistogram;
+
+    ValidationStats(String schema, String field, String pattern, long validations, long failures, long bytes,
+                    long latencySamples, long latencyNanosTotal, long[] latencyHistogram) {
+        this.schema = schema;
+        this.field = field;
+        this.pattern = pattern;
+        this.validations = validations;
+        this.failures = failures;
+        this.bytes = bytes;
+        this.latencySamples = latencySamples;
+        this.latencyNanosTotal = latencyNanosTotal;
+        this.latencyHistogram = latencyHistogram;
+    }
+
+    /**
+     * Full name of the record declaring the field, or {@code ?} for schemas that were never bound.
+     */
+    public String getSchema() {
+        return schema;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public long getValidations() {
+        return validations;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+
+    /**
+     * Total UTF-8 length of the values validated.
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getLatencySamples() {
+        return latencySamples;
+    }
+
+    public long getMeanLatencyNanos() {
+        return latencySamples == 0 ? 0 : latencyNanosTotal / latencySamples;
+    }
+
+    /**
+     * Sampled latencies by power of two: bucket {@code i} counts samples in {@code [2^i, 2^(i+1))} nanoseconds.
+     */
+    public long[] getLatencyHistogram() {
+        return latencyHistogram.clone();
+    }
+
+    @Override
+    public String toString() {
+        return schema + "." + field + " " + pattern + ": " + validations + " validations, " + failures + " failures, "
+                + bytes + " bytes, mean " + getMeanLatencyNanos() + "ns over " + latencySamples + " samples";
+    }
+}
@@ -0,0 +1,51 @@
+package dev.jshingler;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Canonical {@code String} instances for validated-string values, for reading low-cardinality
+ * fields such as session or tenant ids.
+ * <p>
+ * Each validated-string type gets its own bounded {@link ByteKeyCache}. It maps a value's UTF-8
+ * bytes to the {@code String} decoded the first time the value was seen and found valid, so a
+ * repeat is neither decoded nor validated again and every copy read shares one instance. Values
+ * that failed validation are never kept. Dictionaries are created on first use of a type and
+ * looked up without locks.
+ */
+final class ValueInterner {
+
+    // Slots per requested value: a set that overflows evicts on every pass of a cyclic scan, so
+    // leave enough room that few of the four-way sets ever hold more than four live values
+    private static final int SLOTS_PER_VALUE = 4;
+
+    private final int capacity;
+    // Copy-on-write; one entry per type, so writes stop once every type has been seen
+    private volatile Map<ValidatedString, ByteKeyCache<String>> dictionaries = new IdentityHashMap<>();
+
+    /**
+     * @param capacity distinct values kept per type
+     */
+    ValueInterner(int capacity) {
+        if (capacity <= 0 || capacity > Integer.MAX_VALUE / (2 * SLOTS_PER_VALUE)) {
+            throw new IllegalArgumentException("Invalid intern capacity: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    ByteKeyCache<String> dictionary(ValidatedString type) {
+        ByteKeyCache<String> dictionary = dictionaries.get(type);
+        return dictionary != null ? dictionary : create(type);
+    }
+
+    private synchronized ByteKeyCache<String> create(ValidatedString type) {
+        ByteKeyCache<String> dictionary = dictionaries.get(type);
+        if (dictionary == null) {
+            dictionary = new ByteKeyCache<>(capacity * SLOTS_PER_VALUE);
+            Map<ValidatedString, ByteKeyCache<String>> updated = new IdentityHashMap<>(dictionaries);
+            updated.put(type, dictionary);
+            dictionaries = updated;
+        }
+        return dictionary;
+    }
+}
@@ -0,0 +1,16 @@
+package dev.jshingler;
+
+/**
+ * Matches a candidate value against a compiled validated-string pattern.
+ * <p>
+ * Implementations are immutable and safe to share between threads. Produced by {@link PatternCompiler}.
+ */
+interface ValueMatcher {
+
+    boolean matches(CharSequence value);
+
+    /**
+     * Matches a range of UTF-8 encoded bytes, e.g. the backing buffer of a {@code Utf8}.
+     */
+    boolean matches(byte[] bytes, int offset, int length);
+}
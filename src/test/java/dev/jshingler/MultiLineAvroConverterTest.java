@@ -0,0 +1,63 @@
+package dev.jshingler;
+
+import org.apache.avro.Schema;
+import org.apache.avro.file.DataFileReader;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MultiLineAvroConverterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void divertsValuesFailingUnderTheIgnorePolicyToTheRejectFile() throws IOException {
+        ValidatedString.registerLogicalType();
+        Schema schema = new Schema.Parser().parse("{\"type\": \"record\", \"name\": \"Account\", \"fields\": ["
+                + "{\"name\": \"id\", \"type\": {\"type\": \"string\", \"logicalType\": \"validated-string\","
+                + " \"pattern\": \"^[0-9]{4}$\", \"failurePolicy\": \"ignore\"}},"
+                + "{\"name\": \"name\", \"type\": \"string\"}]}");
+        Path input = directory.resolve("accounts.txt");
+        Files.writeString(input, "id: 1234\nname: good\n\nid: 12x4\nname: bad\n\nid: 5678\nname: also good\n");
+        File output = directory.resolve("accounts.avro").toFile();
+        File rejects = directory.resolve("rejects.avro").toFile();
+
+        ConversionStats stats = MultiLineAvroConverter.convert(schema, input.toFile(), output, rejects, 2);
+
+        assertEquals(2, stats.getWritten());
+        assertEquals(1, stats.getRejected());
+        List<String> names = new ArrayList<>();
+        for (GenericRecord record : read(output)) {
+            names.add(record.get("name").toString());
+        }
+        assertEquals(List.of("good", "also good"), names);
+        List<GenericRecord> rejected = read(rejects);
+        assertEquals(1, rejected.size());
+        assertEquals("id", rejected.get(0).get("field").toString());
+        assertEquals("id: 12x4\nname: bad",
+                StandardCharsets.UTF_8.decode((ByteBuffer) rejected.get(0).get("block")).toString().strip());
+    }
+
+    private static List<GenericRecord> read(File file) throws IOException {
+        List<GenericRecord> records = new ArrayList<>();
+        try (DataFileReader<GenericRecord> reader = new DataFileReader<>(file, new GenericDatumReader<>())) {
+            while (reader.hasNext()) {
+                records.add(reader.next());
+            }
+        }
+        return records;
+    }
+}
@@ -0,0 +1,40 @@
+package dev.jshingler;
+
+import org.apache.avro.Schema;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ValidatedStringTest {
+
+    private static Schema schema(String properties) {
+        return new Schema.Parser().parse("{\"type\": \"string\", \"logicalType\": \"validated-string\","
+                + " \"pattern\": \"^[a-z]+$\", " + properties + "}");
+    }
+
+    @Test
+    void rejectsCacheSizesThatWouldOverflowTheCache() {
+        assertThrows(IllegalArgumentException.class, () -> ValidatedString.forPattern("^[a-z]+$", (1 << 30) + 1));
+        assertThrows(IllegalArgumentException.class, () -> ValidatedString.forPattern("^[a-z]+$", Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> new ByteKeyCache<String>((1 << 30) + 1));
+    }
+
+    @Test
+    void rejectsCacheSizesAboveTheMaximum() {
+        assertThrows(IllegalArgumentException.class,
+                () -> ValidatedString.forPattern("^[a-z]+$", ValidatedString.MAX_CACHE_SIZE + 1));
+        Schema schema = schema("\"cacheSize\": 100000000");
+        assertThrows(IllegalArgumentException.class, () -> ValidatedString.forSchema(schema));
+        assertEquals(64, ValidatedString.forPattern("^[a-z]+$", 64).getCacheSize());
+    }
+
+    @Test
+    void rejectsIntegerPropertiesThatDoNotFitAnInt() {
+        assertThrows(IllegalArgumentException.class, () -> ValidatedString.forSchema(schema("\"maxLength\": 12.7")));
+        assertThrows(IllegalArgumentException.class, () -> ValidatedString.forSchema(schema("\"cacheSize\": 4294967296")));
+        assertThrows(IllegalArgumentException.class, () -> ValidatedString.forSchema(schema("\"minLength\": \"1.5\"")));
+        assertEquals(12, ValidatedString.forSchema(schema("\"maxLength\": \"12\"")).getMaxLength());
+        assertEquals(12, ValidatedString.forSchema(schema("\"maxLength\": 12")).getMaxLength());
+    }
+}
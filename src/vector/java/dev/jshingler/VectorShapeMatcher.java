@@ -0,0 +1,162 @@
+package dev.jshingler;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+
+/**
+ * {@link FixedShapeMatcher} backend that checks UTF-8 bytes a whole vector at a time with the
+ * incubating Vector API.
+ * <p>
+ * Each position's accepted characters are stored as up to {@link #MAX_RANGES} ranges, as a low
+ * bound and a span: byte {@code b} is accepted when {@code b - low}, compared unsigned, is at most
+ * {@code span}. A value is checked in 256-bit chunks where the hardware has them and the shape is
+ * at least 32 bytes long, otherwise in 128-bit chunks, with one compare per range and chunk. The
+ * last chunk is loaded so that it ends exactly at the value's end, overlapping the one before, so
+ * no load needs a mask. Non-ASCII bytes wrap past every span, so they never match, as in the
+ * scalar matcher. {@code CharSequence} input goes to the scalar matcher.
+ * <p>
+ * Only compiled with the {@code vector} Maven profile, and only loaded, reflectively, when
+ * {@code jdk.incubator.vector} is in the boot layer, i.e. the JVM runs with
+ * {@code --add-modules jdk.incubator.vector}; see {@link PatternCompiler}.
+ */
+final class VectorShapeMatcher implements ValueMatcher {
+
+    static final int MAX_RANGES = 3;
+    static final int MIN_LENGTH = 16;
+
+    private static final VectorSpecies<Byte> SPECIES_128 = ByteVector.SPECIES_128;
+    private static final VectorSpecies<Byte> SPECIES_256 = ByteVector.SPECIES_256;
+    private static final boolean HAS_256 = ByteVector.SPECIES_PREFERRED.length() >= SPECIES_256.length();
+
+    private final FixedShapeMatcher scalar;
+    private final int length;
+    private final boolean wide;
+    // Per range, one entry per lane of each chunk, laid out chunk after chunk
+    private final byte[][] lows;
+    private final byte[][] spans;
+
+    private VectorShapeMatcher(FixedShapeMatcher scalar, boolean wide, byte[][] lows, byte[][] spans) {
+        this.scalar = scalar;
+        this.length = scalar.length();
+        this.wide = wide;
+        this.lows = lows;
+        this.spans = spans;
+    }
+
+    /**
+     * Returns a vector matcher for {@code shape}, or null if it is shorter than {@link #MIN_LENGTH}
+     * or some position needs more than {@link #MAX_RANGES} ranges.
+     */
+    static VectorShapeMatcher create(FixedShapeMatcher shape) {
+        int length = shape.length();
+        if (length < MIN_LENGTH) {
+            return null;
+        }
+        boolean wide = HAS_256 && length >= SPECIES_256.length();
+        int width = wide ? SPECIES_256.length() : SPECIES_128.length();
+        int chunks = (length + width - 1) / width;
+
+        int[][] positionRanges = new int[length][];
+        for (int position = 0; position < length; position++) {
+            positionRanges[position] = rangesAt(shape, position);
+            if (positionRanges[position] == null) {
+                return null;
+            }
+        }
+
+        byte[][] lows = new byte[MAX_RANGES][chunks * width];
+        byte[][] spans = new byte[MAX_RANGES][chunks * width];
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int start = Math.min(chunk * width, length - width);
+            for (int lane = 0; lane < width; lane++) {
+                int[] bounds = positionRanges[start + lane];
+                for (int range = 0; range < MAX_RANGES; range++) {
+                    // Positions with fewer ranges repeat their last one, which changes nothing
+                    int index = Math.min(range, bounds.length / 2 - 1) * 2;
+                    lows[range][chunk * width + lane] = (byte) bounds[index];
+                    spans[range][chunk * width + lane] = (byte) (bounds[index + 1] - bounds[index]);
+                }
+            }
+        }
+        return new VectorShapeMatcher(shape, wide, lows, spans);
+    }
+
+    /**
+     * The accepted chars at {@code position} as {low, high, low, high, ...}, or null if there are
+     * more than {@link #MAX_RANGES} runs.
+     */
+    private static int[] rangesAt(FixedShapeMatcher shape, int position) {
+        int[] bounds = new int[MAX_RANGES * 2];
+        int count = 0;
+        for (int c = 0; c < 128; c++) {
+            if (shape.accepts(position, c) && (c == 0 || !shape.accepts(position, c - 1))) {
+                if (count == MAX_RANGES) {
+                    return null;
+                }
+                int high = c;
+                while (high + 1 < 128 && shape.accepts(position, high + 1)) {
+                    high++;
+                }
+                bounds[count * 2] = c;
+                bounds[count * 2 + 1] = high;
+                count++;
+            }
+        }
+        if (count == 0) {
+            return null;
+        }
+        return Arrays.copyOf(bounds, count * 2);
+    }
+
+    @Override
+    public boolean matches(CharSequence value) {
+        return scalar.matches(value);
+    }
+
+    @Override
+    public boolean matches(byte[] bytes, int offset, int length) {
+        if (length != this.length) {
+            return false;
+        }
+        return wide ? matches256(bytes, offset) : matches128(bytes, offset);
+    }
+
+    // The two widths are spelled out so each species is a constant the JIT can compile to plain
+    // vector instructions; through a parameter it falls back to boxed vectors
+
+    private boolean matches128(byte[] bytes, int offset) {
+        for (int chunk = 0; chunk < length; chunk += 16) {
+            ByteVector value = ByteVector.fromArray(SPECIES_128, bytes, offset + Math.min(chunk, length - 16));
+            VectorMask<Byte> accepted = value.sub(ByteVector.fromArray(SPECIES_128, lows[0], chunk))
+                    .compare(VectorOperators.UNSIGNED_LE, ByteVector.fromArray(SPECIES_128, spans[0], chunk))
+                    .or(value.sub(ByteVector.fromArray(SPECIES_128, lows[1], chunk))
+                            .compare(VectorOperators.UNSIGNED_LE, ByteVector.fromArray(SPECIES_128, spans[1], chunk)))
+                    .or(value.sub(ByteVector.fromArray(SPECIES_128, lows[2], chunk))
+                            .compare(VectorOperators.UNSIGNED_LE, ByteVector.fromArray(SPECIES_128, spans[2], chunk)));
+            if (!accepted.allTrue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean matches256(byte[] bytes, int offset) {
+        for (int chunk = 0; chunk < length; chunk += 32) {
+            ByteVector value = ByteVector.fromArray(SPECIES_256, bytes, offset + Math.min(chunk, length - 32));
+            VectorMask<Byte> accepted = value.sub(ByteVector.fromArray(SPECIES_256, lows[0], chunk))
+                    .compare(VectorOperators.UNSIGNED_LE, ByteVector.fromArray(SPECIES_256, spans[0], chunk))
+                    .or(value.sub(ByteVector.fromArray(SPECIES_256, lows[1], chunk))
+                            .compare(VectorOperators.UNSIGNED_LE, ByteVector.fromArray(SPECIES_256, spans[1], chunk)))
+                    .or(value.sub(ByteVector.fromArray(SPECIES_256, lows[2], chunk))
+                            .compare(VectorOperators.UNSIGNED_LE, ByteVector.fromArray(SPECIES_256, spans[2], chunk)));
+            if (!accepted.allTrue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}